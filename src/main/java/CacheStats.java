@@ -0,0 +1,81 @@
+/**
+ * A read-only snapshot of the statistics of a {@link QueryCache}.
+ */
+public class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long invalidations;
+    private final int size;
+
+    /**
+     * Constructs a new CacheStats object.
+     *
+     * @param hits          the number of lookups answered from the cache
+     * @param misses        the number of lookups that had to compute their result
+     * @param invalidations the number of entries removed by invalidation
+     * @param size          the number of entries cached
+     */
+    public CacheStats(long hits, long misses, long invalidations, int size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.invalidations = invalidations;
+        this.size = size;
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that had to compute their result.
+     *
+     * @return the miss count
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of entries removed by invalidation.
+     *
+     * @return the invalidation count
+     */
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * Returns the number of entries cached when the snapshot was taken.
+     *
+     * @return the cache size
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the fraction of lookups answered from the cache.
+     *
+     * @return the hit rate from 0.0 to 1.0, or 0.0 if there were no lookups
+     */
+    public double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Returns a string representation of the statistics.
+     *
+     * @return the hit, miss, and invalidation counts, the size, and the hit rate
+     */
+    @Override
+    public String toString() {
+        return String.format("hits=%d misses=%d invalidations=%d size=%d hitRate=%.1f%%",
+                hits, misses, invalidations, size, 100 * getHitRate());
+    }
+}
@@ -1,9 +1,12 @@
+import java.util.List;
+
 /**
  * Represents a course in the student management system.
  */
 public class Course {
     private String code;
     private String name;
+    private List<MeetingTime> meetingTimes;
 
     /**
      * Constructs a new Course object with the given code and name.
@@ -12,8 +15,20 @@ public class Course {
      * @param name the course name
      */
     public Course(String code, String name) {
+        this(code, name, List.of());
+    }
+
+    /**
+     * Constructs a new Course object with the given code, name, and weekly meeting times.
+     *
+     * @param code         the course code
+     * @param name         the course name
+     * @param meetingTimes the weekly meeting times of the course
+     */
+    public Course(String code, String name, List<MeetingTime> meetingTimes) {
         this.code = code;
         this.name = name;
+        this.meetingTimes = List.copyOf(meetingTimes);
     }
 
     /**
@@ -35,6 +50,15 @@ public class Course {
         return name;
     }
 
+    /**
+     * Returns the weekly meeting times of the course.
+     *
+     * @return an unmodifiable list of MeetingTime objects, empty if the course has no schedule
+     */
+    public List<MeetingTime> getMeetingTimes() {
+        return meetingTimes;
+    }
+
     /**
      * Returns a string representation of the Course object in the format "name (code)".
      *
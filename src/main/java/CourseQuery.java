@@ -0,0 +1,89 @@
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A query over the courses of a {@link StudentManager}.
+ */
+public class CourseQuery extends Query<Course> {
+    private final StudentManager studentManager;
+
+    /**
+     * Constructs a new CourseQuery matching every course.
+     *
+     * @param studentManager the manager to query
+     */
+    public CourseQuery(StudentManager studentManager) {
+        super("courses", studentManager::getCourses);
+        this.studentManager = studentManager;
+    }
+
+    /**
+     * Keeps the course with the given code.
+     *
+     * @param courseCode the code of the course
+     * @return this query
+     */
+    public CourseQuery codeIs(String courseCode) {
+        addIndexedFilter("code = " + courseCode, course -> course.getCode().equals(courseCode), "courses by code",
+                () -> studentManager.getCourse(courseCode) == null ? 0 : 1, () -> {
+                    Course course = studentManager.getCourse(courseCode);
+                    return course == null ? List.of() : List.of(course);
+                });
+        return this;
+    }
+
+    /**
+     * Keeps the courses a student is enrolled in during the current term.
+     *
+     * @param studentId the ID of the student
+     * @return this query
+     */
+    public CourseQuery withStudent(String studentId) {
+        addIndexedFilter("has student " + studentId,
+                course -> studentManager.getGradesForStudent(studentId).stream()
+                        .anyMatch(grade -> grade.getCourseCode().equals(course.getCode())),
+                "enrollments by student", () -> studentManager.getGradesForStudent(studentId).size(), () -> {
+                    Set<String> codes = new LinkedHashSet<>();
+                    for (Grade grade : studentManager.getGradesForStudent(studentId)) {
+                        codes.add(grade.getCourseCode());
+                    }
+                    List<Course> courses = new ArrayList<>(codes.size());
+                    for (String code : codes) {
+                        Course course = studentManager.getCourse(code);
+                        if (course != null) {
+                            courses.add(course);
+                        }
+                    }
+                    return courses;
+                });
+        return this;
+    }
+
+    /**
+     * Keeps the courses in which no enrolled student has a grade yet, using the rule of
+     * {@link StudentManager#isValidGrade(String)}, so marks such as "Pass" count as grades.
+     *
+     * @return this query
+     */
+    public CourseQuery withNoGradedStudents() {
+        addFilter("no graded students (probes enrollments by course)",
+                course -> studentManager.getGradesForCourse(course.getCode()).stream()
+                        .noneMatch(grade -> StudentManager.isValidGrade(grade.getGrade())));
+        return this;
+    }
+
+    /**
+     * Keeps the courses matching an arbitrary condition.
+     *
+     * @param description the description shown by {@link #explain()}
+     * @param predicate   the condition a course must satisfy
+     * @return this query
+     */
+    public CourseQuery where(String description, Predicate<Course> predicate) {
+        addFilter(description, predicate);
+        return this;
+    }
+}
@@ -0,0 +1,87 @@
+import java.util.function.Predicate;
+
+/**
+ * A query over the current-term enrollments of a {@link StudentManager}, one {@link Grade} per row.
+ * Filters on the student or the course are answered by the manager's enrollment indexes.
+ */
+public class EnrollmentQuery extends Query<Grade> {
+    private final StudentManager studentManager;
+
+    /**
+     * Constructs a new EnrollmentQuery matching every enrollment.
+     *
+     * @param studentManager the manager to query
+     */
+    public EnrollmentQuery(StudentManager studentManager) {
+        super("enrollments", studentManager::getGrades);
+        this.studentManager = studentManager;
+    }
+
+    /**
+     * Keeps the enrollments of a student.
+     *
+     * @param studentId the ID of the student
+     * @return this query
+     */
+    public EnrollmentQuery studentIs(String studentId) {
+        addIndexedFilter("student = " + studentId, grade -> grade.getStudentId().equals(studentId),
+                "enrollments by student", () -> studentManager.getGradesForStudent(studentId).size(),
+                () -> studentManager.getGradesForStudent(studentId));
+        return this;
+    }
+
+    /**
+     * Keeps the enrollments of a course.
+     *
+     * @param courseCode the code of the course
+     * @return this query
+     */
+    public EnrollmentQuery courseIs(String courseCode) {
+        addIndexedFilter("course = " + courseCode, grade -> grade.getCourseCode().equals(courseCode),
+                "enrollments by course", () -> studentManager.getGradesForCourse(courseCode).size(),
+                () -> studentManager.getGradesForCourse(courseCode));
+        return this;
+    }
+
+    /**
+     * Keeps the enrollments that have a grade, using the rule of {@link StudentManager#isValidGrade(String)},
+     * so marks such as "Pass" or "W" count as grades.
+     *
+     * @return this query
+     */
+    public EnrollmentQuery graded() {
+        addFilter("graded", grade -> StudentManager.isValidGrade(grade.getGrade()));
+        return this;
+    }
+
+    /**
+     * Keeps the enrollments whose recognized grade is below the given grade, such as "C".
+     *
+     * @param grade the exclusive upper bound, as a letter grade or percentage
+     * @return this query
+     * @throws IllegalArgumentException if the bound is not a recognized grade
+     */
+    public EnrollmentQuery gradeBelow(String grade) {
+        byte bound = GradeColumns.toPoints(grade);
+        if (bound == GradeColumns.UNGRADED) {
+            throw new IllegalArgumentException("Unrecognized grade: " + grade);
+        }
+        addFilter("grade < " + grade, g -> {
+            byte points = GradeColumns.toPoints(g.getGrade());
+            return points != GradeColumns.UNGRADED && points < bound;
+        });
+        return this;
+    }
+
+    /**
+     * Keeps the enrollments matching an arbitrary condition.
+     *
+     * @param description the description shown by {@link #explain()}
+     * @param predicate   the condition an enrollment must satisfy
+     * @return this query
+     */
+    public EnrollmentQuery where(String description, Predicate<Grade> predicate) {
+        addFilter(description, predicate);
+        return this;
+    }
+}
@@ -0,0 +1,237 @@
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Compares garbage collection pauses while a large enrollment set is held in the
+ * {@code ArrayList<Grade>} model used by {@link StudentManager} and in an {@link OffHeapEnrollmentStore}.
+ * For each model it builds the enrollments, then runs the same short-lived allocation workload
+ * with the enrollments still live, and reports the number of collections, total, median, 99th
+ * percentile, and maximum pause times, and heap use.
+ *
+ * <p>Usage: {@code java EnrollmentStoreBenchmark [all|arraylist|direct|mapped] [enrollments]}.
+ * With {@code all}, the default, each model runs in its own JVM, started with the same JVM options,
+ * so JIT warm-up and heap state from one model do not affect the next. Run with a fixed heap, for
+ * example {@code -Xmx2g}, so all models are measured under the same conditions.</p>
+ */
+public class EnrollmentStoreBenchmark {
+    private static final int DEFAULT_ENROLLMENTS = 2_000_000;
+    private static final int COURSES = 2_000;
+    private static final int COURSES_PER_STUDENT = 8;
+    private static final int WORKLOAD_ALLOCATIONS = 20_000_000;
+    private static final String[] GRADES = { "A", "A-", "B+", "B", "B-", "C+", "C", "D", "F" };
+    private static final String[] MODELS = { "arraylist", "direct", "mapped" };
+
+    private static Object sink;
+
+    /**
+     * Runs the benchmark for one model in this JVM, or for every model in a separate JVM each.
+     *
+     * @param args the model to run ({@code all}, {@code arraylist}, {@code direct}, or {@code mapped}),
+     *             and the number of enrollments to build
+     * @throws IOException if the mapped file cannot be created or a child JVM cannot be started
+     * @throws InterruptedException if interrupted while waiting for a child JVM
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        String model = args.length > 0 ? args[0].toLowerCase(Locale.ROOT) : "all";
+        int enrollments = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ENROLLMENTS;
+
+        switch (model) {
+            case "all":
+                for (String each : MODELS) {
+                    runInChildJvm(each, enrollments);
+                }
+                break;
+            case "arraylist":
+                run("ArrayList<Grade>", () -> {
+                    List<Grade> grades = new ArrayList<>();
+                    for (int i = 0; i < enrollments; i++) {
+                        grades.add(new Grade(studentId(i), courseCode(i), GRADES[i % GRADES.length]));
+                    }
+                    return grades;
+                });
+                break;
+            case "direct":
+                run("Off-heap (direct buffers)", () -> {
+                    OffHeapEnrollmentStore store = OffHeapEnrollmentStore.allocate(enrollments);
+                    for (int i = 0; i < enrollments; i++) {
+                        store.put(studentId(i), courseCode(i), GRADES[i % GRADES.length]);
+                    }
+                    return store;
+                });
+                break;
+            case "mapped":
+                Path file = Files.createTempFile("enrollments", ".bin");
+                try {
+                    run("Off-heap (mapped file)", () -> {
+                        OffHeapEnrollmentStore store = OffHeapEnrollmentStore.mapped(file, enrollments);
+                        for (int i = 0; i < enrollments; i++) {
+                            store.put(studentId(i), courseCode(i), GRADES[i % GRADES.length]);
+                        }
+                        return store;
+                    });
+                } finally {
+                    Files.deleteIfExists(file);
+                }
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown model: " + model + ", expected all, "
+                        + String.join(", ", MODELS));
+        }
+    }
+
+    /**
+     * Runs one model in a fresh JVM with the same Java binary, class path, and JVM options as this one.
+     */
+    private static void runInChildJvm(String model, int enrollments) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(EnrollmentStoreBenchmark.class.getName());
+        command.add(model);
+        command.add(Integer.toString(enrollments));
+        int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException("Benchmark of " + model + " failed with exit code " + exitCode);
+        }
+    }
+
+    private static String studentId(int enrollment) {
+        return "S" + enrollment / COURSES_PER_STUDENT;
+    }
+
+    private static String courseCode(int enrollment) {
+        return "C" + (enrollment * 7 + enrollment / COURSES_PER_STUDENT) % COURSES;
+    }
+
+    /**
+     * Builds one model and measures the pauses during the build and during the allocation workload.
+     */
+    private static void run(String name, Builder builder) throws IOException {
+        PauseRecorder pauses = PauseRecorder.install();
+        System.gc();
+        pauses.reset();
+        long start = System.nanoTime();
+        Object model = builder.build();
+        long buildNanos = System.nanoTime() - start;
+        List<Long> buildPauses = pauses.reset();
+
+        // Short-lived garbage with the model still reachable, as the Swing UI would produce
+        for (int i = 0; i < WORKLOAD_ALLOCATIONS; i++) {
+            sink = new byte[64];
+        }
+        List<Long> workloadPauses = pauses.reset();
+
+        System.gc();
+        List<Long> fullGcPauses = pauses.reset();
+        Runtime runtime = Runtime.getRuntime();
+        long heapUsed = runtime.totalMemory() - runtime.freeMemory();
+
+        System.out.printf("%s%n", name);
+        System.out.printf("  build:    %d ms, %s%n", buildNanos / 1_000_000, describe(buildPauses));
+        System.out.printf("  workload: %s%n", describe(workloadPauses));
+        System.out.printf("  full GC:  %s%n", describe(fullGcPauses));
+        System.out.printf("  heap used with model live: %d MB%n", heapUsed / (1024 * 1024));
+
+        if (model instanceof OffHeapEnrollmentStore) {
+            ((OffHeapEnrollmentStore) model).close();
+        }
+        sink = model; // Keep the model reachable until all measurements are taken
+        sink = null;
+    }
+
+    /**
+     * Describes a list of pause times: count, total, median, 99th percentile, and maximum.
+     */
+    private static String describe(List<Long> pauses) {
+        if (pauses.isEmpty()) {
+            return "0 pauses";
+        }
+        List<Long> sorted = new ArrayList<>(pauses);
+        Collections.sort(sorted);
+        long total = 0;
+        for (long pause : sorted) {
+            total += pause;
+        }
+        return String.format("%d pauses, total %d ms, p50 %d ms, p99 %d ms, max %d ms", sorted.size(), total,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), sorted.get(sorted.size() - 1));
+    }
+
+    private static long percentile(List<Long> sorted, double fraction) {
+        int rank = (int) Math.ceil(fraction * sorted.size());
+        return sorted.get(Math.max(rank - 1, 0));
+    }
+
+    /**
+     * Builds one enrollment model.
+     */
+    private interface Builder {
+        Object build() throws IOException;
+    }
+
+    /**
+     * Records the duration of every stop-the-world collection reported by the collectors.
+     * Concurrent cycles are skipped, since most of their work does not pause the application.
+     */
+    private static class PauseRecorder implements NotificationListener {
+        private static final long SETTLE_MILLIS = 200;
+
+        private final List<Long> pauses = new ArrayList<>();
+
+        static PauseRecorder install() {
+            PauseRecorder recorder = new PauseRecorder();
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                if (gc instanceof NotificationEmitter) {
+                    ((NotificationEmitter) gc).addNotificationListener(recorder, null, null);
+                }
+            }
+            return recorder;
+        }
+
+        @Override
+        public void handleNotification(Notification notification, Object handback) {
+            if (!GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION.equals(notification.getType())) {
+                return;
+            }
+            GarbageCollectionNotificationInfo info =
+                    GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+            if (info.getGcAction().contains("concurrent")) {
+                return;
+            }
+            synchronized (this) {
+                pauses.add(info.getGcInfo().getDuration());
+            }
+        }
+
+        /**
+         * Returns the pauses recorded since the last reset and starts a new phase.
+         * Notifications arrive asynchronously, so pending ones are given a moment to be delivered first.
+         */
+        List<Long> reset() {
+            try {
+                Thread.sleep(SETTLE_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this) {
+                List<Long> phase = new ArrayList<>(pauses);
+                pauses.clear();
+                return phase;
+            }
+        }
+    }
+}
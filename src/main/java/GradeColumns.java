@@ -0,0 +1,276 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A column-oriented snapshot of the grades held by a {@link StudentManager}.
+ * Each enrollment is stored as one row across parallel primitive arrays so that
+ * course-wide and institution-wide statistics run as tight loops over contiguous
+ * memory instead of dereferencing one Grade object per row.
+ */
+public class GradeColumns {
+    /**
+     * The grade points of a row whose grade is missing or not recognized.
+     */
+    public static final byte UNGRADED = -1;
+
+    /**
+     * The course ordinal that selects every course in the aggregation methods.
+     */
+    public static final int ALL_COURSES = -1;
+
+    /**
+     * The course ordinal returned for a course code that is not in the snapshot.
+     * No row has this ordinal, so the aggregation methods treat it as an empty course.
+     */
+    public static final int UNKNOWN_COURSE = Integer.MIN_VALUE;
+
+    /**
+     * The highest grade points a row can hold (4.0 in tenths of a point).
+     */
+    public static final int MAX_POINTS = 40;
+
+    private final List<Student> students;
+    private final List<Course> courses;
+    private final Map<String, Integer> courseOrdinals;
+    private final int[] studentColumn;
+    private final int[] courseColumn;
+    private final byte[] pointsColumn;
+    private final int rows;
+
+    private GradeColumns(List<Student> students, List<Course> courses, Map<String, Integer> courseOrdinals,
+                         int[] studentColumn, int[] courseColumn, byte[] pointsColumn) {
+        this.students = students;
+        this.courses = courses;
+        this.courseOrdinals = courseOrdinals;
+        this.studentColumn = studentColumn;
+        this.courseColumn = courseColumn;
+        this.pointsColumn = pointsColumn;
+        this.rows = pointsColumn.length;
+    }
+
+    /**
+     * Builds a column snapshot from the current students, courses, and grades of the manager.
+     * Students and courses are numbered by their position in the manager's lists; enrollments
+     * that refer to an unknown student or course get the ordinal -1.
+     *
+     * @param studentManager the manager to snapshot
+     * @return the column snapshot
+     */
+    public static GradeColumns from(StudentManager studentManager) {
+        List<Student> students = List.copyOf(studentManager.getStudents());
+        List<Course> courses = List.copyOf(studentManager.getCourses());
+        Map<String, Integer> studentOrdinals = new HashMap<>();
+        for (int i = 0; i < students.size(); i++) {
+            studentOrdinals.putIfAbsent(students.get(i).getId(), i);
+        }
+        Map<String, Integer> courseOrdinals = new HashMap<>();
+        for (int i = 0; i < courses.size(); i++) {
+            courseOrdinals.putIfAbsent(courses.get(i).getCode(), i);
+        }
+
+        List<Grade> grades = studentManager.getGrades();
+        int[] studentColumn = new int[grades.size()];
+        int[] courseColumn = new int[grades.size()];
+        byte[] pointsColumn = new byte[grades.size()];
+        for (int i = 0; i < grades.size(); i++) {
+            Grade grade = grades.get(i);
+            studentColumn[i] = studentOrdinals.getOrDefault(grade.getStudentId(), -1);
+            courseColumn[i] = courseOrdinals.getOrDefault(grade.getCourseCode(), -1);
+            pointsColumn[i] = toPoints(grade.getGrade());
+        }
+        return new GradeColumns(students, courses, courseOrdinals, studentColumn, courseColumn, pointsColumn);
+    }
+
+    /**
+     * Converts a free-text grade to grade points in tenths of a point.
+     * Letter grades (A to F with an optional + or -) and percentages from 0 to 100 are recognized.
+     *
+     * @param grade the grade text, may be null
+     * @return the grade points from 0 to {@link #MAX_POINTS}, or {@link #UNGRADED}
+     */
+    public static byte toPoints(String grade) {
+        if (grade == null) {
+            return UNGRADED;
+        }
+        String text = grade.trim().toUpperCase();
+        if (text.isEmpty()) {
+            return UNGRADED;
+        }
+        char letter = text.charAt(0);
+        if (letter >= '0' && letter <= '9') {
+            return percentToPoints(text);
+        }
+        if (text.length() > 2) {
+            return UNGRADED;
+        }
+        int points;
+        switch (letter) {
+            case 'A': points = 40; break;
+            case 'B': points = 30; break;
+            case 'C': points = 20; break;
+            case 'D': points = 10; break;
+            case 'F': return text.length() == 1 ? 0 : UNGRADED;
+            default: return UNGRADED;
+        }
+        if (text.length() == 2) {
+            char modifier = text.charAt(1);
+            if (modifier == '+') {
+                points = Math.min(points + 3, MAX_POINTS);
+            } else if (modifier == '-') {
+                points -= 3;
+            } else {
+                return UNGRADED;
+            }
+        }
+        return (byte) points;
+    }
+
+    private static byte percentToPoints(String text) {
+        double percent;
+        try {
+            percent = Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            return UNGRADED;
+        }
+        if (percent < 0 || percent > 100) {
+            return UNGRADED;
+        }
+        // Standard US scale: 93+ is an A, each letter spans ten points split into -, plain, and +
+        if (percent >= 93) return 40;
+        if (percent >= 90) return 37;
+        if (percent >= 87) return 33;
+        if (percent >= 83) return 30;
+        if (percent >= 80) return 27;
+        if (percent >= 77) return 23;
+        if (percent >= 73) return 20;
+        if (percent >= 70) return 17;
+        if (percent >= 67) return 13;
+        if (percent >= 63) return 10;
+        if (percent >= 60) return 7;
+        return 0;
+    }
+
+    /**
+     * Returns the number of rows in the snapshot.
+     *
+     * @return the number of enrollments
+     */
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * Returns the ordinal of a course in this snapshot.
+     *
+     * @param courseCode the code of the course
+     * @return the course ordinal, or {@link #UNKNOWN_COURSE} if the course is unknown
+     */
+    public int courseOrdinal(String courseCode) {
+        return courseOrdinals.getOrDefault(courseCode, UNKNOWN_COURSE);
+    }
+
+    /**
+     * Returns the student with the given ordinal.
+     *
+     * @param studentOrdinal the student ordinal
+     * @return the Student object
+     */
+    public Student getStudent(int studentOrdinal) {
+        return students.get(studentOrdinal);
+    }
+
+    /**
+     * Returns the course with the given ordinal.
+     *
+     * @param courseOrdinal the course ordinal
+     * @return the Course object
+     */
+    public Course getCourse(int courseOrdinal) {
+        return courses.get(courseOrdinal);
+    }
+
+    /**
+     * Counts the graded rows of a course.
+     *
+     * @param courseOrdinal the course ordinal, or {@link #ALL_COURSES}
+     * @return the number of rows with recognized grade points
+     */
+    public int countGraded(int courseOrdinal) {
+        int[] course = courseColumn;
+        byte[] points = pointsColumn;
+        int count = 0;
+        if (courseOrdinal == ALL_COURSES) {
+            for (int i = 0; i < rows; i++) {
+                count += (points[i] >>> 31) ^ 1;
+            }
+        } else {
+            for (int i = 0; i < rows; i++) {
+                count += (course[i] == courseOrdinal & points[i] >= 0) ? 1 : 0;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the average grade points of the graded rows of a course.
+     *
+     * @param courseOrdinal the course ordinal, or {@link #ALL_COURSES}
+     * @return the average on a 0.0 to 4.0 scale, or NaN if no row is graded
+     */
+    public double average(int courseOrdinal) {
+        int[] course = courseColumn;
+        byte[] points = pointsColumn;
+        long sum = 0;
+        int count = 0;
+        for (int i = 0; i < rows; i++) {
+            int p = points[i];
+            int match = (courseOrdinal == ALL_COURSES | course[i] == courseOrdinal) & p >= 0 ? 1 : 0;
+            sum += match * p;
+            count += match;
+        }
+        return count == 0 ? Double.NaN : sum / (count * 10.0);
+    }
+
+    /**
+     * Returns the distribution of grade points of a course.
+     *
+     * @param courseOrdinal the course ordinal, or {@link #ALL_COURSES}
+     * @return an array where index {@code p} holds the number of rows with {@code p} tenths of a point
+     */
+    public int[] histogram(int courseOrdinal) {
+        int[] course = courseColumn;
+        byte[] points = pointsColumn;
+        // The extra bucket collects ungraded and non-matching rows so the loop has no branches
+        int[] buckets = new int[MAX_POINTS + 2];
+        for (int i = 0; i < rows; i++) {
+            int p = points[i];
+            boolean match = (courseOrdinal == ALL_COURSES | course[i] == courseOrdinal) & p >= 0;
+            buckets[match ? p : MAX_POINTS + 1]++;
+        }
+        return Arrays.copyOf(buckets, MAX_POINTS + 1);
+    }
+
+    /**
+     * Returns the students of a course whose grade points are below a threshold.
+     *
+     * @param courseOrdinal the course ordinal, or {@link #ALL_COURSES}
+     * @param threshold     the exclusive upper bound in tenths of a point
+     * @return the ordinals of the matching students, one per matching row
+     */
+    public int[] studentsBelow(int courseOrdinal, int threshold) {
+        int[] course = courseColumn;
+        int[] student = studentColumn;
+        byte[] points = pointsColumn;
+        int[] matches = new int[rows];
+        int n = 0;
+        for (int i = 0; i < rows; i++) {
+            int p = points[i];
+            matches[n] = student[i];
+            n += (courseOrdinal == ALL_COURSES | course[i] == courseOrdinal) & p >= 0 & p < threshold
+                    & student[i] >= 0 ? 1 : 0;
+        }
+        return Arrays.copyOf(matches, n);
+    }
+}
@@ -0,0 +1,149 @@
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A table model listing the students enrolled in one course, with an editable column for new grades.
+ * Edits are buffered per student until they are committed in a single batch.
+ */
+public class GradeSheetTableModel extends AbstractTableModel {
+    private static final String[] COLUMN_NAMES = { "Student ID", "Name", "Current Grade", "New Grade" };
+    private static final int NEW_GRADE_COLUMN = 3;
+
+    private final List<String[]> rows = new ArrayList<>();
+    private final Map<String, String> edits = new LinkedHashMap<>();
+    private String courseCode;
+
+    /**
+     * Loads the enrollments of a course. Pending edits of students still on the sheet are kept.
+     *
+     * @param studentManager the manager holding the students and grades
+     * @param courseCode     the code of the course, or null to clear the sheet
+     */
+    public void load(StudentManager studentManager, String courseCode) {
+        this.courseCode = courseCode;
+        rows.clear();
+        Map<String, String> keptEdits = new LinkedHashMap<>();
+        if (courseCode != null) {
+            for (Grade grade : studentManager.getGradesForCourse(courseCode)) {
+                Student student = studentManager.getStudent(grade.getStudentId());
+                rows.add(new String[] {
+                        grade.getStudentId(),
+                        student == null ? "" : student.getName(),
+                        grade.getGrade() == null ? "" : grade.getGrade()
+                });
+                String edit = edits.get(grade.getStudentId());
+                if (edit != null) {
+                    keptEdits.put(grade.getStudentId(), edit);
+                }
+            }
+        }
+        edits.clear();
+        edits.putAll(keptEdits);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Writes all buffered edits to the manager in one batch and reloads the sheet.
+     *
+     * @param studentManager the manager holding the students and grades
+     * @return the number of grades written
+     * @throws IllegalArgumentException if the manager rejects the batch; the edits are kept in that case
+     */
+    public int commit(StudentManager studentManager) {
+        int count = edits.size();
+        if (courseCode != null && count > 0) {
+            studentManager.assignGrades(courseCode, edits);
+        }
+        edits.clear();
+        load(studentManager, courseCode);
+        return count;
+    }
+
+    /**
+     * Returns the buffered grade edits.
+     *
+     * @return a map from student ID to new grade, in edit order
+     */
+    public Map<String, String> getEdits() {
+        return new LinkedHashMap<>(edits);
+    }
+
+    /**
+     * Returns whether any grade has been edited since the last load or commit.
+     *
+     * @return true if there are buffered edits
+     */
+    public boolean hasEdits() {
+        return !edits.isEmpty();
+    }
+
+    /**
+     * Discards all buffered edits.
+     */
+    public void discardEdits() {
+        edits.clear();
+        fireTableDataChanged();
+    }
+
+    /**
+     * Checks every buffered edit against {@link StudentManager#isValidGrade(String)} and describes the invalid ones.
+     *
+     * @return a list of error messages, empty if all edits are valid
+     */
+    public List<String> validateEdits() {
+        List<String> errors = new ArrayList<>();
+        for (Map.Entry<String, String> edit : edits.entrySet()) {
+            if (!StudentManager.isValidGrade(edit.getValue())) {
+                errors.add(edit.getKey() + ": \"" + edit.getValue() + "\" is not a valid grade");
+            }
+        }
+        return errors;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return column == NEW_GRADE_COLUMN;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        String[] values = rows.get(row);
+        if (column == NEW_GRADE_COLUMN) {
+            return edits.getOrDefault(values[0], "");
+        }
+        return values[column];
+    }
+
+    @Override
+    public void setValueAt(Object value, int row, int column) {
+        if (column != NEW_GRADE_COLUMN) {
+            return;
+        }
+        String[] values = rows.get(row);
+        String grade = value == null ? "" : value.toString().trim();
+        if (grade.isEmpty() || grade.equals(values[2])) {
+            edits.remove(values[0]);
+        } else {
+            edits.put(values[0], grade);
+        }
+        fireTableCellUpdated(row, column);
+    }
+}
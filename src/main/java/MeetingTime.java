@@ -0,0 +1,130 @@
+import java.time.DayOfWeek;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Represents a weekly meeting of a course, such as "MON 09:00-10:30".
+ */
+public class MeetingTime {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private DayOfWeek day;
+    private int startMinute;
+    private int endMinute;
+
+    /**
+     * Constructs a new MeetingTime object.
+     *
+     * @param day         the day of the week
+     * @param startMinute the start time in minutes after midnight
+     * @param endMinute   the end time in minutes after midnight, after the start time
+     */
+    public MeetingTime(DayOfWeek day, int startMinute, int endMinute) {
+        if (startMinute < 0 || endMinute > MINUTES_PER_DAY || startMinute >= endMinute) {
+            throw new IllegalArgumentException("Invalid meeting time: " + startMinute + "-" + endMinute);
+        }
+        this.day = day;
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+    }
+
+    /**
+     * Parses a meeting time in the format "MON 09:00-10:30".
+     *
+     * @param text the text to parse
+     * @return the MeetingTime object
+     * @throws IllegalArgumentException if the text is not a valid meeting time
+     */
+    public static MeetingTime parse(String text) {
+        String[] parts = text.trim().split("\\s+");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid meeting time: " + text);
+        }
+        DayOfWeek day = null;
+        for (DayOfWeek d : DayOfWeek.values()) {
+            if (d.name().startsWith(parts[0].toUpperCase(Locale.ROOT)) && parts[0].length() >= 3) {
+                day = d;
+                break;
+            }
+        }
+        String[] times = parts[1].split("-");
+        if (day == null || times.length != 2) {
+            throw new IllegalArgumentException("Invalid meeting time: " + text);
+        }
+        return new MeetingTime(day, parseMinute(times[0], text), parseMinute(times[1], text));
+    }
+
+    /**
+     * Parses a list of meeting times separated by semicolons, such as "MON 09:00-10:30; WED 09:00-10:30".
+     *
+     * @param text the text to parse, may be empty
+     * @return the list of MeetingTime objects
+     * @throws IllegalArgumentException if any entry is not a valid meeting time
+     */
+    public static List<MeetingTime> parseList(String text) {
+        List<MeetingTime> meetingTimes = new ArrayList<>();
+        for (String part : text.split(";")) {
+            if (!part.isBlank()) {
+                meetingTimes.add(parse(part));
+            }
+        }
+        return meetingTimes;
+    }
+
+    private static int parseMinute(String time, String text) {
+        String[] hm = time.split(":");
+        try {
+            if (hm.length != 2) {
+                throw new NumberFormatException();
+            }
+            int hour = Integer.parseInt(hm[0]);
+            int minute = Integer.parseInt(hm[1]);
+            // 24:00 is accepted as the end of the day; no other time past midnight is
+            if (hour < 0 || hour > 24 || minute < 0 || minute > 59 || (hour == 24 && minute != 0)) {
+                throw new NumberFormatException();
+            }
+            return hour * 60 + minute;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid meeting time: " + text);
+        }
+    }
+
+    /**
+     * Returns the day of the week.
+     *
+     * @return the day of the week
+     */
+    public DayOfWeek getDay() {
+        return day;
+    }
+
+    /**
+     * Returns the start of the meeting in minutes since Monday midnight.
+     *
+     * @return the start minute of the week
+     */
+    public int getWeekStart() {
+        return day.ordinal() * MINUTES_PER_DAY + startMinute;
+    }
+
+    /**
+     * Returns the end of the meeting in minutes since Monday midnight.
+     *
+     * @return the end minute of the week (exclusive)
+     */
+    public int getWeekEnd() {
+        return day.ordinal() * MINUTES_PER_DAY + endMinute;
+    }
+
+    /**
+     * Returns a string representation of the MeetingTime object in the format "MON 09:00-10:30".
+     *
+     * @return the string representation of the MeetingTime object
+     */
+    @Override
+    public String toString() {
+        return String.format("%s %02d:%02d-%02d:%02d", day.name().substring(0, 3),
+                startMinute / 60, startMinute % 60, endMinute / 60, endMinute % 60);
+    }
+}
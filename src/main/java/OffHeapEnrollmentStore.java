@@ -0,0 +1,299 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An enrollment store that keeps its records and its (student, course) hash index outside the Java heap.
+ * Each enrollment is a fixed 12-byte record of student, course, and grade ordinals; the strings behind
+ * the ordinals live in small on-heap dictionaries whose size depends on the number of distinct students,
+ * courses, and grade values, not on the number of enrollments. The index is an open-addressing table
+ * with linear probing whose slots hold record numbers.
+ *
+ * <p>Memory comes either from direct buffers or from a memory-mapped scratch file. The mapped file is
+ * only backing storage for this instance; it is not a persistent format.</p>
+ */
+public class OffHeapEnrollmentStore implements Closeable {
+    private static final int RECORD_SIZE = 12;
+    private static final int STUDENT_OFFSET = 0;
+    private static final int COURSE_OFFSET = 4;
+    private static final int GRADE_OFFSET = 8;
+    private static final int SLOT_SIZE = 4;
+    private static final int NO_GRADE = -1;
+
+    private final FileChannel channel;
+    private final Dictionary studentIds = new Dictionary();
+    private final Dictionary courseCodes = new Dictionary();
+    private final Dictionary gradeValues = new Dictionary();
+    private ByteBuffer records;
+    private ByteBuffer slots;
+    private int recordCapacity;
+    private int slotMask;
+    private int size;
+
+    private OffHeapEnrollmentStore(FileChannel channel, int initialCapacity) throws IOException {
+        this.channel = channel;
+        this.recordCapacity = Math.max(initialCapacity, 16);
+        int slotCount = Integer.highestOneBit(recordCapacity * 2 - 1) << 1;
+        this.slotMask = slotCount - 1;
+        this.records = allocate(0, (long) recordCapacity * RECORD_SIZE);
+        this.slots = allocate((long) recordCapacity * RECORD_SIZE, (long) slotCount * SLOT_SIZE);
+    }
+
+    /**
+     * Creates a store backed by direct buffers.
+     *
+     * @param initialCapacity the number of enrollments to reserve room for
+     * @return the new store
+     */
+    public static OffHeapEnrollmentStore allocate(int initialCapacity) {
+        try {
+            return new OffHeapEnrollmentStore(null, initialCapacity);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Direct allocation does not do I/O
+        }
+    }
+
+    /**
+     * Creates a store backed by a memory-mapped scratch file, which is created or truncated.
+     *
+     * @param file            the backing file
+     * @param initialCapacity the number of enrollments to reserve room for
+     * @return the new store
+     * @throws IOException if the file cannot be created or mapped
+     */
+    public static OffHeapEnrollmentStore mapped(Path file, int initialCapacity) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            return new OffHeapEnrollmentStore(channel, initialCapacity);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Sets the grade of a student in a course, adding the enrollment if it does not exist yet.
+     *
+     * @param studentId  the ID of the student
+     * @param courseCode the code of the course
+     * @param grade      the grade, or null for an enrollment without a grade
+     */
+    public void put(String studentId, String courseCode, String grade) {
+        int student = studentIds.ordinal(studentId);
+        int course = courseCodes.ordinal(courseCode);
+        int gradeOrdinal = grade == null ? NO_GRADE : gradeValues.ordinal(grade);
+
+        int slot = findSlot(student, course);
+        int record = slots.getInt(slot * SLOT_SIZE) - 1;
+        if (record >= 0) {
+            records.putInt(record * RECORD_SIZE + GRADE_OFFSET, gradeOrdinal);
+            return;
+        }
+        if (size == recordCapacity) {
+            grow();
+            slot = findSlot(student, course);
+        }
+        int offset = size * RECORD_SIZE;
+        records.putInt(offset + STUDENT_OFFSET, student);
+        records.putInt(offset + COURSE_OFFSET, course);
+        records.putInt(offset + GRADE_OFFSET, gradeOrdinal);
+        slots.putInt(slot * SLOT_SIZE, ++size);
+    }
+
+    /**
+     * Returns whether a student is enrolled in a course.
+     *
+     * @param studentId  the ID of the student
+     * @param courseCode the code of the course
+     * @return true if the enrollment exists
+     */
+    public boolean contains(String studentId, String courseCode) {
+        return findRecord(studentId, courseCode) >= 0;
+    }
+
+    /**
+     * Returns the grade of a student in a course.
+     *
+     * @param studentId  the ID of the student
+     * @param courseCode the code of the course
+     * @return the grade, null if the enrollment has no grade, or an empty string if there is no enrollment
+     */
+    public String getGrade(String studentId, String courseCode) {
+        int record = findRecord(studentId, courseCode);
+        return record < 0 ? "" : getGrade(record);
+    }
+
+    /**
+     * Returns the number of enrollments in the store.
+     *
+     * @return the number of records
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the student ID of a record.
+     *
+     * @param record the record number, from 0 to {@link #size()} - 1
+     * @return the student ID
+     */
+    public String getStudentId(int record) {
+        return studentIds.value(records.getInt(checkRecord(record) * RECORD_SIZE + STUDENT_OFFSET));
+    }
+
+    /**
+     * Returns the course code of a record.
+     *
+     * @param record the record number, from 0 to {@link #size()} - 1
+     * @return the course code
+     */
+    public String getCourseCode(int record) {
+        return courseCodes.value(records.getInt(checkRecord(record) * RECORD_SIZE + COURSE_OFFSET));
+    }
+
+    /**
+     * Returns the grade of a record.
+     *
+     * @param record the record number, from 0 to {@link #size()} - 1
+     * @return the grade, or null if the enrollment has no grade
+     */
+    public String getGrade(int record) {
+        int grade = records.getInt(checkRecord(record) * RECORD_SIZE + GRADE_OFFSET);
+        return grade == NO_GRADE ? null : gradeValues.value(grade);
+    }
+
+    /**
+     * Closes the backing file, if any. Direct buffers are released when the store is garbage collected.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private int checkRecord(int record) {
+        if (record < 0 || record >= size) {
+            throw new IndexOutOfBoundsException("Record " + record + " of " + size);
+        }
+        return record;
+    }
+
+    private int findRecord(String studentId, String courseCode) {
+        int student = studentIds.find(studentId);
+        int course = courseCodes.find(courseCode);
+        if (student < 0 || course < 0) {
+            return -1;
+        }
+        return slots.getInt(findSlot(student, course) * SLOT_SIZE) - 1;
+    }
+
+    /**
+     * Returns the slot holding the (student, course) key, or the empty slot where it belongs.
+     */
+    private int findSlot(int student, int course) {
+        int slot = hash(student, course) & slotMask;
+        while (true) {
+            int record = slots.getInt(slot * SLOT_SIZE) - 1;
+            if (record < 0) {
+                return slot;
+            }
+            int offset = record * RECORD_SIZE;
+            if (records.getInt(offset + STUDENT_OFFSET) == student && records.getInt(offset + COURSE_OFFSET) == course) {
+                return slot;
+            }
+            slot = (slot + 1) & slotMask;
+        }
+    }
+
+    private static int hash(int student, int course) {
+        int h = student * 0x9E3779B9 + course;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    /**
+     * Doubles the record capacity and rebuilds the index at twice the size, keeping its load at most one half.
+     */
+    private void grow() {
+        if (recordCapacity > Integer.MAX_VALUE / (2 * RECORD_SIZE)) {
+            throw new IllegalStateException("Enrollment store is full");
+        }
+        int newCapacity = recordCapacity * 2;
+        int slotCount = (slotMask + 1) * 2;
+        try {
+            ByteBuffer newRecords = allocate(0, (long) newCapacity * RECORD_SIZE);
+            // A larger mapping of the same file already holds the old records; direct buffers need a copy
+            if (channel == null) {
+                ByteBuffer oldRecords = records.duplicate();
+                oldRecords.clear().limit(size * RECORD_SIZE);
+                newRecords.put(oldRecords).clear();
+            }
+            records = newRecords;
+            // The new index region may overlap the old one, so it is cleared before rebuilding
+            slots = allocate((long) newCapacity * RECORD_SIZE, (long) slotCount * SLOT_SIZE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot grow enrollment store", e);
+        }
+        recordCapacity = newCapacity;
+        slotMask = slotCount - 1;
+        for (int slot = 0; slot < slotCount; slot++) {
+            slots.putInt(slot * SLOT_SIZE, 0);
+        }
+        for (int record = 0; record < size; record++) {
+            int offset = record * RECORD_SIZE;
+            int slot = findSlot(records.getInt(offset + STUDENT_OFFSET), records.getInt(offset + COURSE_OFFSET));
+            slots.putInt(slot * SLOT_SIZE, record + 1);
+        }
+    }
+
+    /**
+     * Allocates a zero-filled region, either as a direct buffer or as a mapping of the backing file.
+     */
+    private ByteBuffer allocate(long position, long length) throws IOException {
+        ByteBuffer buffer = channel == null
+                ? ByteBuffer.allocateDirect((int) length)
+                : channel.map(FileChannel.MapMode.READ_WRITE, position, length);
+        return buffer.order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Maps strings to dense ordinals and back.
+     */
+    private static class Dictionary {
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int ordinal(String value) {
+            Integer ordinal = ordinals.get(value);
+            if (ordinal == null) {
+                ordinal = values.size();
+                ordinals.put(value, ordinal);
+                values.add(value);
+            }
+            return ordinal;
+        }
+
+        int find(String value) {
+            return ordinals.getOrDefault(value, -1);
+        }
+
+        String value(int ordinal) {
+            return values.get(ordinal);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The prerequisite relation between courses, kept as a directed acyclic graph over course codes.
+ * Each course's full set of transitive prerequisites is cached as a bitset over course ordinals.
+ * A new prerequisite only drops the cached sets of the courses that can reach the changed course,
+ * and dropped sets are recomputed on demand, prerequisites first, without recursion.
+ */
+public class PrerequisiteGraph {
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> codes = new ArrayList<>();
+    private final List<BitSet> direct = new ArrayList<>();
+    private final List<List<Integer>> dependents = new ArrayList<>();
+    private final List<BitSet> closure = new ArrayList<>();
+
+    /**
+     * Adds a prerequisite to a course.
+     *
+     * @param courseCode       the code of the course
+     * @param prerequisiteCode the code of the course that must be completed first
+     * @throws IllegalArgumentException if the prerequisite would create a cycle
+     */
+    public void addPrerequisite(String courseCode, String prerequisiteCode) {
+        if (courseCode.equals(prerequisiteCode)) {
+            throw new IllegalArgumentException(courseCode + " cannot be its own prerequisite");
+        }
+        int course = ordinal(courseCode);
+        int prerequisite = ordinal(prerequisiteCode);
+        if (getClosure(prerequisite).get(course)) {
+            throw new IllegalArgumentException(
+                    prerequisiteCode + " already requires " + courseCode + ", so it cannot be its prerequisite");
+        }
+        if (!direct.get(course).get(prerequisite)) {
+            direct.get(course).set(prerequisite);
+            dependents.get(prerequisite).add(course);
+            // An edge to a course that is already required transitively changes no closure
+            BitSet known = closure.get(course);
+            if (known == null || !known.get(prerequisite)) {
+                invalidate(course);
+            }
+        }
+    }
+
+    /**
+     * Returns whether adding a prerequisite to a course would create a cycle, either because the
+     * prerequisite is the course itself or because it already requires the course.
+     *
+     * @param courseCode       the code of the course
+     * @param prerequisiteCode the code of the prospective prerequisite
+     * @return true if {@link #addPrerequisite(String, String)} would reject the prerequisite
+     */
+    public boolean wouldCreateCycle(String courseCode, String prerequisiteCode) {
+        if (courseCode.equals(prerequisiteCode)) {
+            return true;
+        }
+        Integer course = ordinals.get(courseCode);
+        Integer prerequisite = ordinals.get(prerequisiteCode);
+        return course != null && prerequisite != null && getClosure(prerequisite).get(course);
+    }
+
+    /**
+     * Returns the direct prerequisites of a course.
+     *
+     * @param courseCode the code of the course
+     * @return a list of course codes
+     */
+    public List<String> getPrerequisites(String courseCode) {
+        Integer course = ordinals.get(courseCode);
+        return course == null ? List.of() : toCodes(direct.get(course));
+    }
+
+    /**
+     * Returns the direct and transitive prerequisites of a course.
+     *
+     * @param courseCode the code of the course
+     * @return a list of course codes
+     */
+    public List<String> getAllPrerequisites(String courseCode) {
+        Integer course = ordinals.get(courseCode);
+        return course == null ? List.of() : toCodes(getClosure(course));
+    }
+
+    /**
+     * Returns the codes of the prerequisites of a course, direct or transitive, that are not in a set
+     * of completed courses.
+     *
+     * @param courseCode the code of the course
+     * @param completed  the completed courses, as a bitset built with {@link #toBitSet(Iterable)}
+     * @return a list of the missing course codes, empty if the course may be taken
+     */
+    public List<String> getMissingPrerequisites(String courseCode, BitSet completed) {
+        Integer course = ordinals.get(courseCode);
+        if (course == null) {
+            return List.of();
+        }
+        BitSet missing = (BitSet) getClosure(course).clone();
+        missing.andNot(completed);
+        return toCodes(missing);
+    }
+
+    /**
+     * Returns whether a course has any prerequisites.
+     *
+     * @param courseCode the code of the course
+     * @return true if the course has at least one prerequisite
+     */
+    public boolean hasPrerequisites(String courseCode) {
+        Integer course = ordinals.get(courseCode);
+        return course != null && !direct.get(course).isEmpty();
+    }
+
+    /**
+     * Converts a collection of course codes to a bitset over the ordinals of this graph.
+     * Codes of courses that are not part of the graph are ignored.
+     *
+     * @param courseCodes the course codes
+     * @return the bitset of the known courses
+     */
+    public BitSet toBitSet(Iterable<String> courseCodes) {
+        BitSet bits = new BitSet(codes.size());
+        for (String code : courseCodes) {
+            Integer ordinal = ordinals.get(code);
+            if (ordinal != null) {
+                bits.set(ordinal);
+            }
+        }
+        return bits;
+    }
+
+    private int ordinal(String courseCode) {
+        Integer ordinal = ordinals.get(courseCode);
+        if (ordinal == null) {
+            ordinal = codes.size();
+            ordinals.put(courseCode, ordinal);
+            codes.add(courseCode);
+            direct.add(new BitSet());
+            dependents.add(new ArrayList<>());
+            closure.add(new BitSet()); // A course without prerequisites has an empty closure
+        }
+        return ordinal;
+    }
+
+    private List<String> toCodes(BitSet bits) {
+        List<String> result = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result.add(codes.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Drops the cached closures of a course and of every course that requires it, directly or transitively.
+     * A course whose closure is already dropped is not expanded: its dependents were dropped with it.
+     */
+    private void invalidate(int course) {
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.push(course);
+        while (!pending.isEmpty()) {
+            int c = pending.pop();
+            if (closure.get(c) != null) {
+                closure.set(c, null);
+                for (int dependent : dependents.get(c)) {
+                    pending.push(dependent);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the cached transitive prerequisites of a course, recomputing dropped closures with a
+     * depth-first walk that finishes each course's prerequisites before the course itself.
+     */
+    private BitSet getClosure(int course) {
+        BitSet bits = closure.get(course);
+        if (bits != null) {
+            return bits;
+        }
+        Deque<Integer> pending = new ArrayDeque<>();
+        pending.push(course);
+        while (!pending.isEmpty()) {
+            int c = pending.peek();
+            if (closure.get(c) != null) {
+                pending.pop(); // Reached along another path and already computed
+                continue;
+            }
+            BitSet prerequisites = direct.get(c);
+            boolean ready = true;
+            for (int p = prerequisites.nextSetBit(0); p >= 0; p = prerequisites.nextSetBit(p + 1)) {
+                if (closure.get(p) == null) {
+                    pending.push(p);
+                    ready = false;
+                }
+            }
+            if (ready) {
+                pending.pop();
+                BitSet computed = new BitSet(codes.size());
+                for (int p = prerequisites.nextSetBit(0); p >= 0; p = prerequisites.nextSetBit(p + 1)) {
+                    computed.set(p);
+                    computed.or(closure.get(p));
+                }
+                closure.set(c, computed);
+            }
+        }
+        return closure.get(course);
+    }
+}
@@ -0,0 +1,183 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A declarative query over the students, courses, or enrollments of a {@link StudentManager}.
+ * Filters are collected first and planned when the query runs: the indexed filter with the
+ * smallest estimated row count becomes the access path, the remaining filters are applied to
+ * its rows, and large scans run in parallel. Only the chosen index lookup is performed, and
+ * {@link #explain()} describes the plan from the estimates alone.
+ *
+ * @param <T> the type of the rows returned by the query
+ */
+public abstract class Query<T> {
+    /**
+     * The number of candidate rows from which the filters are applied in parallel.
+     */
+    public static final int PARALLEL_THRESHOLD = 10_000;
+
+    private final String source;
+    private final Supplier<List<T>> fullScan;
+    private final List<Filter<T>> filters = new ArrayList<>();
+
+    /**
+     * Constructs a new Query.
+     *
+     * @param source   the name of the rows being queried, used by {@link #explain()}
+     * @param fullScan supplies every row when no index applies
+     */
+    protected Query(String source, Supplier<List<T>> fullScan) {
+        this.source = source;
+        this.fullScan = fullScan;
+    }
+
+    /**
+     * Adds a filter that can only be evaluated row by row.
+     *
+     * @param description the description shown by {@link #explain()}
+     * @param predicate   the condition a row must satisfy
+     */
+    protected void addFilter(String description, Predicate<T> predicate) {
+        filters.add(new Filter<>(description, predicate, null, null, null));
+    }
+
+    /**
+     * Adds a filter that can also be answered by an index lookup.
+     *
+     * @param description the description shown by {@link #explain()}
+     * @param predicate   the condition a row must satisfy
+     * @param indexName   the name of the index, shown by {@link #explain()}
+     * @param estimate    supplies the number of rows the lookup returns, without performing it
+     * @param lookup      supplies exactly the rows satisfying the filter
+     */
+    protected void addIndexedFilter(String description, Predicate<T> predicate, String indexName,
+                                    IntSupplier estimate, Supplier<Collection<T>> lookup) {
+        filters.add(new Filter<>(description, predicate, indexName, estimate, lookup));
+    }
+
+    /**
+     * Runs the query.
+     *
+     * @return a list of the matching rows
+     */
+    public List<T> list() {
+        return plan().stream().collect(Collectors.toList());
+    }
+
+    /**
+     * Runs the query and counts the matching rows.
+     *
+     * @return the number of matching rows
+     */
+    public long count() {
+        return plan().stream().count();
+    }
+
+    /**
+     * Plans the query without running it and describes the plan.
+     *
+     * @return a multi-line description of the access path, filters, and execution mode
+     */
+    public String explain() {
+        Plan<T> plan = plan();
+        StringBuilder sb = new StringBuilder("Query over ").append(source).append('\n');
+        if (plan.access == null) {
+            sb.append("  Access: full scan (").append(plan.estimate).append(" rows)\n");
+        } else {
+            sb.append("  Access: index ").append(plan.access.indexName).append(" for ")
+                    .append(plan.access.description).append(" (~").append(plan.estimate).append(" rows, estimated)\n");
+        }
+        for (Filter<T> filter : plan.residual) {
+            sb.append("  Filter: ").append(filter.description);
+            if (filter.indexName != null) {
+                sb.append(" (index ").append(filter.indexName).append(" not used, less selective)");
+            }
+            sb.append('\n');
+        }
+        sb.append("  Execution: ").append(plan.parallel ? "parallel" : "sequential").append('\n');
+        return sb.toString();
+    }
+
+    /**
+     * Chooses the access path with the smallest estimated row count and keeps the other filters as residuals.
+     * No lookup is performed here; the chosen one runs when the plan is streamed.
+     */
+    private Plan<T> plan() {
+        Filter<T> access = null;
+        int estimate = 0;
+        for (Filter<T> filter : filters) {
+            if (filter.lookup != null) {
+                int rows = filter.estimate.getAsInt();
+                if (access == null || rows < estimate) {
+                    access = filter;
+                    estimate = rows;
+                }
+            }
+        }
+        Supplier<? extends Collection<T>> candidates;
+        if (access == null) {
+            candidates = fullScan;
+            estimate = fullScan.get().size();
+        } else {
+            candidates = access.lookup;
+        }
+        List<Filter<T>> residual = new ArrayList<>(filters);
+        residual.remove(access);
+        return new Plan<>(access, candidates, estimate, residual, estimate >= PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * A filter of the query, with an optional index that can answer it.
+     */
+    private static class Filter<T> {
+        private final String description;
+        private final Predicate<T> predicate;
+        private final String indexName;
+        private final IntSupplier estimate;
+        private final Supplier<Collection<T>> lookup;
+
+        Filter(String description, Predicate<T> predicate, String indexName, IntSupplier estimate,
+               Supplier<Collection<T>> lookup) {
+            this.description = description;
+            this.predicate = predicate;
+            this.indexName = indexName;
+            this.estimate = estimate;
+            this.lookup = lookup;
+        }
+    }
+
+    /**
+     * The chosen access path, its estimated row count, and the filters applied to its rows.
+     */
+    private static class Plan<T> {
+        private final Filter<T> access;
+        private final Supplier<? extends Collection<T>> candidates;
+        private final int estimate;
+        private final List<Filter<T>> residual;
+        private final boolean parallel;
+
+        Plan(Filter<T> access, Supplier<? extends Collection<T>> candidates, int estimate,
+             List<Filter<T>> residual, boolean parallel) {
+            this.access = access;
+            this.candidates = candidates;
+            this.estimate = estimate;
+            this.residual = residual;
+            this.parallel = parallel;
+        }
+
+        Stream<T> stream() {
+            Collection<T> candidateRows = candidates.get();
+            Stream<T> rows = parallel ? candidateRows.parallelStream() : candidateRows.stream();
+            for (Filter<T> filter : residual) {
+                rows = rows.filter(filter.predicate);
+            }
+            return rows;
+        }
+    }
+}
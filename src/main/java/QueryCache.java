@@ -0,0 +1,124 @@
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * A bounded least-recently-used cache for the results of derived queries.
+ * Entries are invalidated by key when the data they were computed from changes.
+ *
+ * @param <K> the type of the query key
+ * @param <V> the type of the cached result
+ */
+public class QueryCache<K, V> {
+    private final Map<K, V> entries;
+    private long hits;
+    private long misses;
+    private long invalidations;
+
+    /**
+     * Constructs a new QueryCache holding at most the given number of entries.
+     *
+     * @param maxEntries the maximum number of entries before the least recently used one is evicted
+     */
+    public QueryCache(int maxEntries) {
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached result for the given key, computing and caching it on a miss.
+     *
+     * @param key     the query key
+     * @param compute the function that computes the result on a miss
+     * @return the cached or freshly computed result
+     */
+    public synchronized V get(K key, Function<K, V> compute) {
+        V value = entries.get(key);
+        if (value != null) {
+            hits++;
+            return value;
+        }
+        misses++;
+        value = compute.apply(key);
+        entries.put(key, value);
+        return value;
+    }
+
+    /**
+     * Removes the cached result for the given key, if any.
+     *
+     * @param key the query key
+     */
+    public synchronized void invalidate(K key) {
+        if (entries.remove(key) != null) {
+            invalidations++;
+        }
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public synchronized void invalidateAll() {
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that had to compute their result.
+     *
+     * @return the miss count
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of entries removed by invalidation.
+     *
+     * @return the invalidation count
+     */
+    public synchronized long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * Returns the number of entries currently cached.
+     *
+     * @return the cache size
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics.
+     *
+     * @return the CacheStats object
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, invalidations, entries.size());
+    }
+
+    /**
+     * Returns a string representation of the cache statistics.
+     *
+     * @return the hit, miss, and invalidation counts and the hit rate
+     */
+    @Override
+    public String toString() {
+        return getStats().toString();
+    }
+}
@@ -1,21 +1,43 @@
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * A graphical user interface for managing students, courses, and grades.
  * This class provides a simple GUI for performing operations like adding,
  * updating,
  * viewing, enrolling, and managing grades for students and courses.
+ * Content panels are built the first time they are shown, and panels hidden
+ * behind the card layout are only marked stale when the data changes.
  */
 public class StudentManagementSystem {
+    private static final String ADD_STUDENT = "Add Student";
+    private static final String UPDATE_STUDENT = "Update Student";
+    private static final String VIEW_STUDENT_DETAILS = "View Student Details";
+    private static final String ADD_COURSE = "Add Course";
+    private static final String ENROLL_STUDENT = "Enroll Student";
+    private static final String GRADE_MANAGEMENT = "Grade Management";
+    private static final String GRADE_SHEET = "Grade Sheet";
+    private static final int MAX_LISTED_ERRORS = 20;
+
     private JFrame frame;
     private JPanel actionPanel, contentPanel;
     private CardLayout cardLayout;
-    private JTable studentTable;
     private StudentManager studentManager;
 
+    private final Map<String, Supplier<PanelController>> panelFactories = new LinkedHashMap<>();
+    private final Map<String, PanelController> panels = new HashMap<>();
+    private final Set<String> stalePanels = new HashSet<>();
+    private String visiblePanel;
+
     /**
      * Constructs a new StudentManagementSystem object.
      */
@@ -34,94 +56,127 @@ public class StudentManagementSystem {
         frame.setLayout(new BorderLayout());
 
         // Left panel for action buttons
-        actionPanel = new JPanel(new GridLayout(6, 1, 10, 10));
+        actionPanel = new JPanel(new GridLayout(0, 1, 10, 10));
         frame.add(actionPanel, BorderLayout.WEST);
 
         // Center panel for content
         contentPanel = new JPanel(cardLayout = new CardLayout());
         frame.add(contentPanel, BorderLayout.CENTER);
 
+        // Register the content panels; each one is built on first show
+        registerContentPanels();
+
         // Add buttons to the action panel
         addActionButtons();
 
-        // Add the initial content panels
-        addContentPanels();
+        showPanel(ADD_STUDENT);
 
         frame.setVisible(true);
     }
 
     /**
-     * Adds action buttons to the left panel.
+     * Registers the factories of the content panels, in the order of the action buttons.
+     */
+    private void registerContentPanels() {
+        panelFactories.put(ADD_STUDENT, AddStudentPanel::new);
+        panelFactories.put(UPDATE_STUDENT, UpdateStudentPanel::new);
+        panelFactories.put(VIEW_STUDENT_DETAILS, ViewStudentDetailsPanel::new);
+        panelFactories.put(ADD_COURSE, AddCoursePanel::new);
+        panelFactories.put(ENROLL_STUDENT, EnrollStudentPanel::new);
+        panelFactories.put(GRADE_MANAGEMENT, GradeManagementPanel::new);
+        panelFactories.put(GRADE_SHEET, GradeSheetPanel::new);
+    }
+
+    /**
+     * Adds one action button per registered content panel to the left panel.
      */
     private void addActionButtons() {
-        JButton addStudentButton = new JButton("Add Student");
-        addStudentButton.addActionListener(e -> cardLayout.show(contentPanel, "Add Student"));
-
-        JButton updateStudentButton = new JButton("Update Student");
-        updateStudentButton.addActionListener(e -> {
-            refreshUpdateStudentComboBox();
-            cardLayout.show(contentPanel, "Update Student");
-        });
-
-        JButton viewDetailsButton = new JButton("View Student Details");
-        viewDetailsButton.addActionListener(e -> {
-            viewStudentDetails();
-            cardLayout.show(contentPanel, "View Student Details");
-        });
-
-        JButton addCourseButton = new JButton("Add Course");
-        addCourseButton.addActionListener(e -> cardLayout.show(contentPanel, "Add Course"));
-
-        JButton enrollStudentButton = new JButton("Enroll Student");
-        enrollStudentButton.addActionListener(e -> {
-            refreshEnrollStudentComboBoxes();
-            cardLayout.show(contentPanel, "Enroll Student");
-        });
-
-        JButton gradeManagementButton = new JButton("Grade Management");
-        gradeManagementButton.addActionListener(e -> {
-            refreshGradeManagementComboBoxes();
-            cardLayout.show(contentPanel, "Grade Management");
-        });
-
-        actionPanel.add(addStudentButton);
-        actionPanel.add(updateStudentButton);
-        actionPanel.add(viewDetailsButton);
-        actionPanel.add(addCourseButton);
-        actionPanel.add(enrollStudentButton);
-        actionPanel.add(gradeManagementButton);
+        for (String name : panelFactories.keySet()) {
+            JButton button = new JButton(name);
+            button.addActionListener(e -> showPanel(name));
+            actionPanel.add(button);
+        }
     }
 
     /**
-     * Adds content panels for different operations to the center panel.
+     * Shows a content panel, building it on first use and refreshing it if it is stale.
+     *
+     * @param name the name of the panel
      */
-    private void addContentPanels() {
-        contentPanel.add(createAddStudentPanel(), "Add Student");
-        contentPanel.add(createUpdateStudentPanel(), "Update Student");
-        contentPanel.add(createViewStudentDetailsPanel(), "View Student Details");
-        contentPanel.add(createAddCoursePanel(), "Add Course");
-        contentPanel.add(createEnrollStudentPanel(), "Enroll Student");
-        contentPanel.add(createGradeManagementPanel(), "Grade Management");
+    private void showPanel(String name) {
+        PanelController controller = panels.get(name);
+        if (controller == null) {
+            controller = panelFactories.get(name).get();
+            controller.refresh();
+            panels.put(name, controller);
+            contentPanel.add(controller.getPanel(), name);
+        } else if (stalePanels.remove(name)) {
+            controller.refresh();
+        }
+        visiblePanel = name;
+        cardLayout.show(contentPanel, name);
     }
 
     /**
-     * Creates a panel for adding a new student.
+     * Marks panels whose data has changed. The visible panel is refreshed immediately;
+     * hidden panels are refreshed the next time they are shown, and panels that have
+     * not been built yet need nothing.
      *
-     * @return the panel for adding a new student
+     * @param names the names of the affected panels
+     */
+    private void markStale(String... names) {
+        for (String name : names) {
+            PanelController controller = panels.get(name);
+            if (controller == null) {
+                continue;
+            }
+            if (name.equals(visiblePanel)) {
+                controller.refresh();
+            } else {
+                stalePanels.add(name);
+            }
+        }
+    }
+
+    /**
+     * Owns the widgets and models of one content panel.
+     */
+    private interface PanelController {
+        /**
+         * Returns the Swing panel managed by this controller.
+         *
+         * @return the panel
+         */
+        JPanel getPanel();
+
+        /**
+         * Reloads the panel's models from the student manager.
+         */
+        default void refresh() {
+        }
+    }
+
+    /**
+     * The panel for adding a new student.
      */
-    private JPanel createAddStudentPanel() {
-        JPanel panel = new JPanel(new GridLayout(3, 2, 10, 10));
-        panel.add(new JLabel("1. Student ID:"));
-        JTextField studentIdField = new JTextField();
-        panel.add(studentIdField);
-        panel.add(new JLabel("2. Student Name:"));
-        JTextField studentNameField = new JTextField();
-        panel.add(studentNameField);
-        JButton addButton = new JButton("Add");
-        panel.add(new JLabel()); // Empty cell
-        panel.add(addButton);
-
-        addButton.addActionListener(e -> {
+    private class AddStudentPanel implements PanelController {
+        private final JPanel panel = new JPanel(new GridLayout(3, 2, 10, 10));
+        private final JTextField studentIdField = new JTextField();
+        private final JTextField studentNameField = new JTextField();
+
+        AddStudentPanel() {
+            panel.add(new JLabel("1. Student ID:"));
+            panel.add(studentIdField);
+            panel.add(new JLabel("2. Student Name:"));
+            panel.add(studentNameField);
+            JButton addButton = new JButton("Add");
+            panel.add(new JLabel()); // Empty cell
+            panel.add(addButton);
+
+            addButton.addActionListener(e -> addStudent());
+        }
+
+        private void addStudent() {
             String studentId = studentIdField.getText();
             String studentName = studentNameField.getText();
 
@@ -146,57 +201,53 @@ public class StudentManagementSystem {
 
             studentIdField.setText(""); // Clear text fields
             studentNameField.setText("");
-            updateStudentTable();
-            refreshUpdateStudentComboBox();
-            refreshEnrollStudentComboBoxes();
-            refreshGradeManagementComboBoxes();
-        });
+            markStale(UPDATE_STUDENT, VIEW_STUDENT_DETAILS, ENROLL_STUDENT, GRADE_MANAGEMENT);
+        }
 
-        return panel;
+        @Override
+        public JPanel getPanel() {
+            return panel;
+        }
     }
 
-
-
     /**
-     * Creates a panel for updating an existing student.
-     *
-     * @return the panel for updating an existing student
+     * The panel for updating an existing student.
      */
-    private JPanel createUpdateStudentPanel() {
-        JPanel panel = new JPanel(new GridLayout(4, 2, 10, 10));
-        JLabel selectStudentLabel = new JLabel("1. Select Student:");
-        JComboBox<Student> updateStudentComboBox = new JComboBox<>(
-                studentManager.getStudents().toArray(new Student[0]));
-        JLabel studentIdField = new JLabel();
-        JTextField studentNameField = new JTextField();
-
-        JLabel studentIdLabel = new JLabel("Current Student ID:");
-        JLabel studentNameLabel = new JLabel("Edit Student Name:");
-        JButton updateButton = new JButton("Update");
-
-        updateStudentComboBox.addActionListener(e -> {
-            Student selectedStudent = (Student) updateStudentComboBox.getSelectedItem();
-            if (selectedStudent == null) {
-                studentIdField.setText("");
-                studentNameField.setText("");
-            } else {
-                studentIdField.setText(selectedStudent.getId());
-                studentNameField.setText(selectedStudent.getName());
-            }
-        });
-
-        panel.add(selectStudentLabel);
-        panel.add(updateStudentComboBox);
-        panel.add(studentIdLabel);
-        panel.add(studentIdField);
-        panel.add(studentNameLabel);
-        panel.add(studentNameField);
-        panel.add(new JLabel()); // Empty cell
-        panel.add(updateButton);
+    private class UpdateStudentPanel implements PanelController {
+        private final JPanel panel = new JPanel(new GridLayout(4, 2, 10, 10));
+        private final JComboBox<Student> updateStudentComboBox = new JComboBox<>();
+        private final JLabel studentIdField = new JLabel();
+        private final JTextField studentNameField = new JTextField();
+
+        UpdateStudentPanel() {
+            JButton updateButton = new JButton("Update");
+
+            updateStudentComboBox.addActionListener(e -> {
+                Student selectedStudent = (Student) updateStudentComboBox.getSelectedItem();
+                if (selectedStudent == null) {
+                    studentIdField.setText("");
+                    studentNameField.setText("");
+                } else {
+                    studentIdField.setText(selectedStudent.getId());
+                    studentNameField.setText(selectedStudent.getName());
+                }
+            });
+
+            panel.add(new JLabel("1. Select Student:"));
+            panel.add(updateStudentComboBox);
+            panel.add(new JLabel("Current Student ID:"));
+            panel.add(studentIdField);
+            panel.add(new JLabel("Edit Student Name:"));
+            panel.add(studentNameField);
+            panel.add(new JLabel()); // Empty cell
+            panel.add(updateButton);
+
+            updateButton.addActionListener(e -> updateStudent());
+        }
 
-        updateButton.addActionListener(e -> {
+        private void updateStudent() {
             Student selectedStudent = (Student) updateStudentComboBox.getSelectedItem();
-            if (selectedStudent != null) {
+            if (selectedStudent != null && selectedStudent.getId() != null) {
                 String newId = studentIdField.getText();
                 String newName = studentNameField.getText();
                 if (newId.isEmpty() || newName.isEmpty()) {
@@ -207,48 +258,88 @@ public class StudentManagementSystem {
                 studentManager.updateStudent(selectedStudent.getId(), new Student(newId, newName));
                 JOptionPane.showMessageDialog(frame, "Student updated successfully", "Success",
                         JOptionPane.INFORMATION_MESSAGE);
-                updateStudentTable();
-                refreshUpdateStudentComboBox();
+                markStale(UPDATE_STUDENT, VIEW_STUDENT_DETAILS, ENROLL_STUDENT, GRADE_MANAGEMENT, GRADE_SHEET);
+            }
+        }
+
+        /**
+         * Refreshes the combo box for updating students with the latest data.
+         */
+        @Override
+        public void refresh() {
+            // Create a new DefaultComboBoxModel with "(Select)" as the first item
+            DefaultComboBoxModel<Student> model = new DefaultComboBoxModel<>();
+            model.addElement(new Student(null, null));
+            for (Student student : studentManager.getStudents()) {
+                model.addElement(student);
             }
-        });
+            updateStudentComboBox.setModel(model);
+        }
 
-        return panel;
+        @Override
+        public JPanel getPanel() {
+            return panel;
+        }
     }
 
     /**
-     * Creates a panel for viewing student details in a table.
-     *
-     * @return the panel for viewing student details
+     * The panel for viewing student details in a table.
      */
-    private JPanel createViewStudentDetailsPanel() {
-        studentTable = new JTable();
-        JScrollPane scrollPane = new JScrollPane(studentTable);
-        JPanel panel = new JPanel(new BorderLayout());
-        panel.add(scrollPane, BorderLayout.CENTER);
-        return panel;
+    private class ViewStudentDetailsPanel implements PanelController {
+        private final JPanel panel = new JPanel(new BorderLayout());
+        private final DefaultTableModel tableModel = new DefaultTableModel(new String[] { "ID", "Name" }, 0);
+
+        ViewStudentDetailsPanel() {
+            JTable studentTable = new JTable(tableModel);
+            panel.add(new JScrollPane(studentTable), BorderLayout.CENTER);
+        }
+
+        /**
+         * Populates the student table with student data.
+         */
+        @Override
+        public void refresh() {
+            tableModel.setRowCount(0);
+            for (Student student : studentManager.getStudents()) {
+                Object[] row = { student.getId(), student.getName() };
+                tableModel.addRow(row);
+            }
+        }
+
+        @Override
+        public JPanel getPanel() {
+            return panel;
+        }
     }
 
     /**
-     * Creates a panel for adding a new course.
-     *
-     * @return the panel for adding a new course
+     * The panel for adding a new course.
      */
-    private JPanel createAddCoursePanel() {
-        JPanel panel = new JPanel(new GridLayout(3, 2, 10, 10));
-        JLabel courseCodeLabel = new JLabel("1. Course Code:");
-        JTextField courseCodeField = new JTextField();
-        JLabel courseNameLabel = new JLabel("2. Course Name:");
-        JTextField courseNameField = new JTextField();
-        JButton addButton = new JButton("Add");
-
-        panel.add(courseCodeLabel);
-        panel.add(courseCodeField);
-        panel.add(courseNameLabel);
-        panel.add(courseNameField);
-        panel.add(new JLabel()); // Empty cell
-        panel.add(addButton);
-
-        addButton.addActionListener(e -> {
+    private class AddCoursePanel implements PanelController {
+        private final JPanel panel = new JPanel(new GridLayout(5, 2, 10, 10));
+        private final JTextField courseCodeField = new JTextField();
+        private final JTextField courseNameField = new JTextField();
+        private final JTextField meetingTimesField = new JTextField();
+        private final JTextField prerequisitesField = new JTextField();
+
+        AddCoursePanel() {
+            JButton addButton = new JButton("Add");
+
+            panel.add(new JLabel("1. Course Code:"));
+            panel.add(courseCodeField);
+            panel.add(new JLabel("2. Course Name:"));
+            panel.add(courseNameField);
+            panel.add(new JLabel("3. Meeting Times (e.g. MON 09:00-10:30; WED 09:00-10:30):"));
+            panel.add(meetingTimesField);
+            panel.add(new JLabel("4. Prerequisites (course codes, comma-separated):"));
+            panel.add(prerequisitesField);
+            panel.add(new JLabel()); // Empty cell
+            panel.add(addButton);
+
+            addButton.addActionListener(e -> addCourse());
+        }
+
+        private void addCourse() {
             String courseCode = courseCodeField.getText();
             String courseName = courseNameField.getText();
             if (courseCode.isEmpty() || courseName.isEmpty()) {
@@ -256,63 +347,92 @@ public class StudentManagementSystem {
                         JOptionPane.ERROR_MESSAGE);
                 return;
             }
-            Course course = new Course(courseCode, courseName);
+            List<MeetingTime> meetingTimes;
+            try {
+                meetingTimes = MeetingTime.parseList(meetingTimesField.getText());
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(frame, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            // Validate every prerequisite before the course is added, so a rejected one leaves nothing behind
+            List<String> prerequisiteCodes = new ArrayList<>();
+            for (String code : prerequisitesField.getText().split(",")) {
+                code = code.trim();
+                if (code.isEmpty()) {
+                    continue;
+                }
+                if (studentManager.getPrerequisites().wouldCreateCycle(courseCode, code)) {
+                    JOptionPane.showMessageDialog(frame,
+                            code + " cannot be a prerequisite of " + courseCode + " without creating a cycle",
+                            "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                if (studentManager.getCourse(code) == null) {
+                    JOptionPane.showMessageDialog(frame, "Unknown prerequisite: " + code, "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                prerequisiteCodes.add(code);
+            }
+            Course course = new Course(courseCode, courseName, meetingTimes);
             studentManager.addCourse(course);
+            for (String code : prerequisiteCodes) {
+                studentManager.addPrerequisite(courseCode, code);
+            }
             JOptionPane.showMessageDialog(frame, "Course added successfully", "Success",
                     JOptionPane.INFORMATION_MESSAGE);
             courseCodeField.setText(""); // Clear text fields
             courseNameField.setText("");
-        });
+            meetingTimesField.setText("");
+            prerequisitesField.setText("");
+            markStale(ENROLL_STUDENT, GRADE_MANAGEMENT, GRADE_SHEET);
+        }
 
-        return panel;
+        @Override
+        public JPanel getPanel() {
+            return panel;
+        }
     }
 
     /**
-     * Creates a panel for enrolling a student in a course.
-     *
-     * @return the panel for enrolling a student in a course
+     * The panel for enrolling a student in a course.
      */
-    private JPanel createEnrollStudentPanel() {
-        JPanel panel = new JPanel(new GridLayout(3, 2, 10, 10));
-        JLabel courseLabel = new JLabel("1. Select Course:");
-        JComboBox<Course> courseComboBox = new JComboBox<>();
-        JLabel studentLabel = new JLabel("2. Select Student:");
-        JComboBox<Student> studentComboBox = new JComboBox<>();
-        JButton enrollButton = new JButton("Enroll");
-
-        // Initialize courseComboBox
-        DefaultComboBoxModel<Course> courseModel = new DefaultComboBoxModel<>();
-        courseModel.addElement(new Course(null, null));
-        for (Course course : studentManager.getCourses()) {
-            courseModel.addElement(course);
-        }
-        courseComboBox.setModel(courseModel);
-
-        // Add ActionListener to courseComboBox to update studentComboBox
-        courseComboBox.addActionListener(e -> {
-            Course selectedCourse = (Course) courseComboBox.getSelectedItem();
-            if (selectedCourse == null || selectedCourse.getCode() == null) {
-                // If "(Select)" is chosen, clear the student combo box
-                studentComboBox.setModel(new DefaultComboBoxModel<>(new Student[0]));
-            } else {
-                List<Student> unEnrolledStudents = studentManager.getUnEnrolledStudents(selectedCourse.getCode());
-                DefaultComboBoxModel<Student> studentModel = new DefaultComboBoxModel<>();
-                studentModel.addElement(new Student(null, null)); // Add "(Select)" option
-                for (Student student : unEnrolledStudents) {
-                    studentModel.addElement(student);
+    private class EnrollStudentPanel implements PanelController {
+        private final JPanel panel = new JPanel(new GridLayout(3, 2, 10, 10));
+        private final JComboBox<Course> courseComboBox = new JComboBox<>();
+        private final JComboBox<Student> studentComboBox = new JComboBox<>();
+
+        EnrollStudentPanel() {
+            JButton enrollButton = new JButton("Enroll");
+
+            // Update studentComboBox whenever the selected course changes
+            courseComboBox.addActionListener(e -> {
+                Course selectedCourse = (Course) courseComboBox.getSelectedItem();
+                if (selectedCourse == null || selectedCourse.getCode() == null) {
+                    // If "(Select)" is chosen, clear the student combo box
+                    studentComboBox.setModel(new DefaultComboBoxModel<>(new Student[0]));
+                } else {
+                    List<Student> unEnrolledStudents = studentManager.getUnEnrolledStudents(selectedCourse.getCode());
+                    DefaultComboBoxModel<Student> studentModel = new DefaultComboBoxModel<>();
+                    studentModel.addElement(new Student(null, null)); // Add "(Select)" option
+                    for (Student student : unEnrolledStudents) {
+                        studentModel.addElement(student);
+                    }
+                    studentComboBox.setModel(studentModel);
                 }
-                studentComboBox.setModel(studentModel);
-            }
-        });
+            });
+
+            panel.add(new JLabel("1. Select Course:"));
+            panel.add(courseComboBox);
+            panel.add(new JLabel("2. Select Student:"));
+            panel.add(studentComboBox);
+            panel.add(new JLabel()); // Empty cell
+            panel.add(enrollButton);
 
-        panel.add(courseLabel);
-        panel.add(courseComboBox);
-        panel.add(studentLabel);
-        panel.add(studentComboBox);
-        panel.add(new JLabel()); // Empty cell
-        panel.add(enrollButton);
+            enrollButton.addActionListener(e -> enrollStudent());
+        }
 
-        enrollButton.addActionListener(e -> {
+        private void enrollStudent() {
             Student selectedStudent = (Student) studentComboBox.getSelectedItem();
             Course selectedCourse = (Course) courseComboBox.getSelectedItem();
             if (selectedStudent == null || selectedCourse == null || selectedStudent.getId() == null || selectedCourse.getCode() == null) {
@@ -320,80 +440,88 @@ public class StudentManagementSystem {
                         JOptionPane.ERROR_MESSAGE);
                 return;
             }
-            studentManager.enrollStudent(selectedStudent.getId(), selectedCourse.getCode());
+            try {
+                studentManager.enrollStudent(selectedStudent.getId(), selectedCourse.getCode());
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(frame, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
             JOptionPane.showMessageDialog(frame, "Student enrolled successfully", "Success",
                     JOptionPane.INFORMATION_MESSAGE);
-            updateStudentTable();
-            refreshEnrollStudentComboBoxes();
-            refreshGradeManagementComboBoxes();
-        });
+            markStale(ENROLL_STUDENT, VIEW_STUDENT_DETAILS, GRADE_MANAGEMENT, GRADE_SHEET);
+        }
 
-        return panel;
+        /**
+         * Refreshes the combo boxes for enrolling students with the latest data.
+         */
+        @Override
+        public void refresh() {
+            // Refresh course combo box with "(Select)" as the first option
+            DefaultComboBoxModel<Course> courseModel = new DefaultComboBoxModel<>();
+            courseModel.addElement(new Course(null, null)); // Null values represent "(Select)"
+            for (Course course : studentManager.getCourses()) {
+                courseModel.addElement(course);
+            }
+            courseComboBox.setModel(courseModel);
+
+            // Student combo box stays empty until a course is chosen
+            studentComboBox.setModel(new DefaultComboBoxModel<>());
+        }
+
+        @Override
+        public JPanel getPanel() {
+            return panel;
+        }
     }
 
     /**
-     * Creates a panel for managing grades.
-     *
-     * @return the panel for managing grades
+     * The panel for managing grades.
      */
-    private JPanel createGradeManagementPanel() {
-        JPanel panel = new JPanel(new GridLayout(5, 2, 10, 10)); // GridLayout with gaps
-
-        // Panel for student selection
-        JLabel selectedStudentLabel = new JLabel("1. Select Student:");
-        JComboBox<Student> gradeStudentComboBox = new JComboBox<>();
-        gradeStudentComboBox.addItem(new Student(null, null));
-
-        // Table for enrolled course names
-        String[] courseColumnNames = { "Enrolled Courses" };
-        DefaultTableModel courseTableModel = new DefaultTableModel(courseColumnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make the cells non-editable
-            }
-        };
-        JTable courseTable = new JTable(courseTableModel);
-        JScrollPane courseScrollPane = new JScrollPane(courseTable);
+    private class GradeManagementPanel implements PanelController {
+        private final JPanel panel = new JPanel(new GridLayout(5, 2, 10, 10)); // GridLayout with gaps
+        private final JComboBox<Student> gradeStudentComboBox = new JComboBox<>();
+        private final JComboBox<Course> gradeCourseComboBox = new JComboBox<>();
+        private final JTextField gradeField = new JTextField();
+        private final DefaultTableModel courseTableModel = readOnlyTableModel("Enrolled Courses");
+        private final DefaultTableModel gradeTableModel = readOnlyTableModel("Grade");
+
+        GradeManagementPanel() {
+            JScrollPane courseScrollPane = new JScrollPane(new JTable(courseTableModel));
+            JScrollPane gradeScrollPane = new JScrollPane(new JTable(gradeTableModel));
+
+            // Button to assign grades
+            JButton assignGradeButton = new JButton("Assign Grade");
+
+            panel.add(new JLabel("1. Select Student:"));
+            panel.add(gradeStudentComboBox);
+            panel.add(courseScrollPane);
+            panel.add(gradeScrollPane);
+            panel.add(new JLabel("2. Select Course:"));
+            panel.add(gradeCourseComboBox);
+            panel.add(new JLabel("Update Grade:"));
+            panel.add(gradeField);
+            panel.add(new JLabel()); // Empty cell
+            panel.add(assignGradeButton);
+
+            assignGradeButton.addActionListener(e -> assignGrade());
+
+            // Action listener for the student combo box
+            gradeStudentComboBox.addActionListener(e -> {
+                Student selectedStudent = (Student) gradeStudentComboBox.getSelectedItem();
+                if (selectedStudent != null && selectedStudent.getId() != null) {
+                    refreshGradeCourseComboBox(selectedStudent);
+                    refreshGradeTable(selectedStudent);
+                    gradeField.setText("");
+                } else {
+                    clearSelection();
+                }
+            });
+        }
 
-        // Table for grades
-        String[] gradeColumnNames = { "Grade" };
-        DefaultTableModel gradeTableModel = new DefaultTableModel(gradeColumnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Make the cells non-editable
-            }
-        };
-        JTable gradeTable = new JTable(gradeTableModel);
-        JScrollPane gradeScrollPane = new JScrollPane(gradeTable);
-
-        // Panel for course selection
-        JLabel selectCourseLabel = new JLabel("2. Select Course:");
-        JComboBox<Course> gradeCourseComboBox = new JComboBox<>();
-        gradeCourseComboBox.addItem(new Course(null, null));
-
-        // Panel for grade input
-        JLabel updateGradeLabel = new JLabel("Update Grade:");
-        JTextField gradeField = new JTextField();
-
-        // Button to assign grades
-        JButton assignGradeButton = new JButton("Assign Grade");
-
-        panel.add(selectedStudentLabel);
-        panel.add(gradeStudentComboBox);
-        panel.add(courseScrollPane);
-        panel.add(gradeScrollPane);
-        panel.add(selectCourseLabel);
-        panel.add(gradeCourseComboBox);
-        panel.add(updateGradeLabel);
-        panel.add(gradeField);
-        panel.add(new JLabel()); // Empty cell
-        panel.add(assignGradeButton);
-
-        // Action listener for the "Assign Grade" button
-        assignGradeButton.addActionListener(e -> {
+        private void assignGrade() {
             Student selectedStudent = (Student) gradeStudentComboBox.getSelectedItem();
             Course selectedCourse = (Course) gradeCourseComboBox.getSelectedItem();
-            String newGrade = gradeField.getText();
+            String newGrade = gradeField.getText().trim();
 
             if (selectedStudent == null || selectedStudent.getId() == null) {
                 JOptionPane.showMessageDialog(frame, "Please select a student", "Error", JOptionPane.ERROR_MESSAGE);
@@ -410,170 +538,238 @@ public class StudentManagementSystem {
                 return;
             }
 
+            if (!StudentManager.isValidGrade(newGrade)) {
+                JOptionPane.showMessageDialog(frame, "\"" + newGrade + "\" is not a valid grade"
+                        + " (use A to F, a percentage, Pass, Fail, W, or I)", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+
             // Update the grade
-            studentManager.assignGrade(selectedStudent.getId(), selectedCourse.getCode(), newGrade);
+            try {
+                studentManager.assignGrade(selectedStudent.getId(), selectedCourse.getCode(), newGrade);
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(frame, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
 
             JOptionPane.showMessageDialog(frame, "Grade assigned successfully", "Success",
                     JOptionPane.INFORMATION_MESSAGE);
 
             // Refresh the course and grade tables
-            refreshGradeTable(selectedStudent, courseTableModel, gradeTableModel);
+            refreshGradeTable(selectedStudent);
+            markStale(GRADE_SHEET);
 
             // Clear text fields
             gradeField.setText("");
-        });
+        }
 
-        // Action listener for the student combo box
-        gradeStudentComboBox.addActionListener(e -> {
-            Student selectedStudent = (Student) gradeStudentComboBox.getSelectedItem();
-            if (selectedStudent != null && selectedStudent.getId() != null) {
-                refreshGradeCourseComboBox(selectedStudent, gradeCourseComboBox);
-                refreshGradeTable(selectedStudent, courseTableModel, gradeTableModel);
-                gradeField.setText("");
-            } else {
-                // Clear course and grade tables, and reset combo box if "(Select)" is chosen
-                courseTableModel.setRowCount(0);
-                gradeTableModel.setRowCount(0);
-                gradeCourseComboBox.setModel(new DefaultComboBoxModel<>(new Course[] { new Course(null, null) }));
-                gradeField.setText("");
+        /**
+         * Refreshes the student combo box with the latest data and resets the other fields and tables.
+         */
+        @Override
+        public void refresh() {
+            DefaultComboBoxModel<Student> studentModel = new DefaultComboBoxModel<>();
+            studentModel.addElement(new Student(null, null));
+            for (Student student : studentManager.getStudents()) {
+                studentModel.addElement(student);
             }
-        });
-
-        return panel;
-    }
-
+            gradeStudentComboBox.setModel(studentModel);
+            clearSelection();
+        }
 
-    
-    /**
-     * Updates the student table with the latest data.
-     */
-    private void updateStudentTable() {
-        if (studentTable != null) {
-            viewStudentDetails();
+        /**
+         * Clears the course and grade tables and resets the course combo box to "(Select)".
+         */
+        private void clearSelection() {
+            courseTableModel.setRowCount(0);
+            gradeTableModel.setRowCount(0);
+            gradeCourseComboBox.setModel(new DefaultComboBoxModel<>(new Course[] { new Course(null, null) }));
+            gradeField.setText("");
         }
-    }
 
-    /**
-     * Populates the student table with student data.
-     */
-    private void viewStudentDetails() {
-        String[] columns = { "ID", "Name" };
-        DefaultTableModel tableModel = new DefaultTableModel(columns, 0);
-        studentTable.setModel(tableModel);
+        /**
+         * Refreshes the course and grade tables for a given student.
+         *
+         * @param student the student whose courses and grades to display
+         */
+        private void refreshGradeTable(Student student) {
+            List<Course> enrolledCourses = studentManager.getEnrolledCourses(student.getId());
 
-        for (Student student : studentManager.getStudents()) {
-            Object[] row = { student.getId(), student.getName() };
-            tableModel.addRow(row);
+            // Update enrolled courses table
+            courseTableModel.setRowCount(0); // Clear previous data
+            for (Course course : enrolledCourses) {
+                courseTableModel.addRow(new Object[] { course.getName() });
+            }
+
+            // Update grades table
+            gradeTableModel.setRowCount(0); // Clear previous data
+            for (Course course : enrolledCourses) {
+                String currentGrade = studentManager.getGrade(student.getId(), course.getCode());
+                gradeTableModel.addRow(new Object[] { currentGrade });
+            }
         }
-    }
 
-    /**
-     * Refreshes the combo box for updating students with the latest data.
-     */
-    private void refreshUpdateStudentComboBox() {
-        JPanel updateStudentPanel = (JPanel) contentPanel.getComponent(1); // Assuming "Update Student" panel is at index 1
-        JComboBox<Student> updateStudentComboBox = (JComboBox<Student>) updateStudentPanel.getComponent(1);
+        /**
+         * Refreshes the course combo box based on the selected student.
+         *
+         * @param student the selected student
+         */
+        private void refreshGradeCourseComboBox(Student student) {
+            List<Course> enrolledCourses = studentManager.getEnrolledCourses(student.getId());
+            DefaultComboBoxModel<Course> courseModel = new DefaultComboBoxModel<>();
+            courseModel.addElement(new Course(null, null));
+            for (Course course : enrolledCourses) {
+                courseModel.addElement(course);
+            }
+            gradeCourseComboBox.setModel(courseModel);
+        }
 
-        // Create a new DefaultComboBoxModel with "(Select)" as the first item
-        DefaultComboBoxModel<Student> model = new DefaultComboBoxModel<>();
-        model.addElement(new Student(null, null));
-        for (Student student : studentManager.getStudents()) {
-            model.addElement(student);
+        @Override
+        public JPanel getPanel() {
+            return panel;
         }
-        updateStudentComboBox.setModel(model);
     }
 
     /**
-     * Refreshes the combo boxes for enrolling students with the latest data.
+     * The panel for entering the grades of a whole course at once.
      */
-    private void refreshEnrollStudentComboBoxes() {
-        JPanel enrollStudentPanel = (JPanel) contentPanel.getComponent(4); // Assuming "Enroll Student" panel is at index 4
-        JComboBox<Course> courseComboBox = (JComboBox<Course>) enrollStudentPanel.getComponent(1);
-        JComboBox<Student> studentComboBox = (JComboBox<Student>) enrollStudentPanel.getComponent(3);
-
-        // Refresh course combo box with "(Select)" as the first option
-        DefaultComboBoxModel<Course> courseModel = new DefaultComboBoxModel<>();
-        courseModel.addElement(new Course(null, null)); // Assuming null values represent "(Select)"
-        for (Course course : studentManager.getCourses()) {
-            courseModel.addElement(course);
+    private class GradeSheetPanel implements PanelController {
+        private final JPanel panel = new JPanel(new BorderLayout(10, 10));
+        private final JComboBox<Course> courseComboBox = new JComboBox<>();
+        private final GradeSheetTableModel sheetModel = new GradeSheetTableModel();
+        private final JTable sheetTable = new JTable(sheetModel);
+        private Course shownCourse;
+
+        GradeSheetPanel() {
+            JPanel coursePanel = new JPanel(new GridLayout(1, 2, 10, 10));
+            coursePanel.add(new JLabel("1. Select Course:"));
+            coursePanel.add(courseComboBox);
+
+            JButton commitButton = new JButton("Commit Grades");
+            JButton discardButton = new JButton("Discard Changes");
+            JPanel buttonPanel = new JPanel(new GridLayout(1, 2, 10, 10));
+            buttonPanel.add(discardButton);
+            buttonPanel.add(commitButton);
+
+            panel.add(coursePanel, BorderLayout.NORTH);
+            panel.add(new JScrollPane(sheetTable), BorderLayout.CENTER);
+            panel.add(buttonPanel, BorderLayout.SOUTH);
+
+            courseComboBox.addActionListener(e -> selectCourse());
+            commitButton.addActionListener(e -> commitGrades());
+            discardButton.addActionListener(e -> {
+                stopEditing();
+                sheetModel.discardEdits();
+            });
         }
-        courseComboBox.setModel(courseModel);
 
-        // Set student combo box to initially have only "(Select)" option
-        DefaultComboBoxModel<Student> studentModel = new DefaultComboBoxModel<>();
-        studentComboBox.setModel(studentModel);
+        private void selectCourse() {
+            Course selectedCourse = (Course) courseComboBox.getSelectedItem();
+            if (selectedCourse == shownCourse) {
+                return;
+            }
+            stopEditing();
+            if (sheetModel.hasEdits()) {
+                int choice = JOptionPane.showConfirmDialog(frame, "Discard the unsaved grades for " + shownCourse + "?",
+                        "Unsaved Grades", JOptionPane.YES_NO_OPTION);
+                if (choice != JOptionPane.YES_OPTION) {
+                    courseComboBox.setSelectedItem(shownCourse);
+                    return;
+                }
+                sheetModel.discardEdits();
+            }
+            shownCourse = selectedCourse;
+            sheetModel.load(studentManager, selectedCourse == null ? null : selectedCourse.getCode());
+        }
 
-    }
+        private void commitGrades() {
+            stopEditing();
+            if (shownCourse == null || shownCourse.getCode() == null) {
+                JOptionPane.showMessageDialog(frame, "Please select a course", "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            if (!sheetModel.hasEdits()) {
+                JOptionPane.showMessageDialog(frame, "Please enter at least one grade", "Error",
+                        JOptionPane.ERROR_MESSAGE);
+                return;
+            }
 
-    /**
-     * Refreshes the combo boxes in the grade management panel with the latest data.
-     */
-    private void refreshGradeManagementComboBoxes() {
-        // Access the "Grade Management" panel
-        JPanel gradeManagementPanel = (JPanel) contentPanel.getComponent(5);
-
-        // Access the JComboBoxes within the panel directly
-        JComboBox<Student> gradeStudentComboBox = (JComboBox<Student>) gradeManagementPanel.getComponent(1);
-
-        // Refresh the studentComboBox with the latest student data and add default "(Select)" option
-        DefaultComboBoxModel<Student> studentModel = new DefaultComboBoxModel<>();
-        studentModel.addElement(new Student(null, null));
-        for (Student student : studentManager.getStudents()) {
-            studentModel.addElement(student);
-        }
-        gradeStudentComboBox.setModel(studentModel);
-
-        // Reset all fields and tables
-        JComboBox<Course> gradeCourseComboBox = (JComboBox<Course>) gradeManagementPanel.getComponent(5);
-        JTable courseTable = (JTable) ((JScrollPane) gradeManagementPanel.getComponent(2)).getViewport().getView();
-        JTable gradeTable = (JTable) ((JScrollPane) gradeManagementPanel.getComponent(3)).getViewport().getView();
-        JTextField gradeField = (JTextField) gradeManagementPanel.getComponent(7);
-
-        gradeCourseComboBox.setModel(new DefaultComboBoxModel<>(new Course[] { new Course(null, null) }));
-        ((DefaultTableModel) courseTable.getModel()).setRowCount(0);
-        ((DefaultTableModel) gradeTable.getModel()).setRowCount(0);
-        gradeField.setText("");
-    }
+            // Validate the whole sheet before writing anything
+            List<String> errors = sheetModel.validateEdits();
+            if (!errors.isEmpty()) {
+                StringBuilder message = new StringBuilder("Please fix the following grades:\n");
+                for (String error : errors.subList(0, Math.min(errors.size(), MAX_LISTED_ERRORS))) {
+                    message.append(error).append('\n');
+                }
+                if (errors.size() > MAX_LISTED_ERRORS) {
+                    message.append("... and ").append(errors.size() - MAX_LISTED_ERRORS).append(" more");
+                }
+                JOptionPane.showMessageDialog(frame, message.toString(), "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
 
-    /**
-     * Refreshes the course and grade tables for a given student.
-     *
-     * @param student         the student whose courses and grades to display
-     * @param courseTableModel the model of the course table
-     * @param gradeTableModel the model of the grade table
-     */
-    private void refreshGradeTable(Student student, DefaultTableModel courseTableModel, DefaultTableModel gradeTableModel) {
-        if (student != null) {
-            List<Course> enrolledCourses = studentManager.getEnrolledCourses(student.getId());
+            int committed;
+            try {
+                committed = sheetModel.commit(studentManager);
+            } catch (IllegalArgumentException ex) {
+                JOptionPane.showMessageDialog(frame, ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
+            JOptionPane.showMessageDialog(frame, committed + " grades assigned successfully", "Success",
+                    JOptionPane.INFORMATION_MESSAGE);
+            markStale(GRADE_MANAGEMENT);
+        }
 
-            // Update enrolled courses table
-            courseTableModel.setRowCount(0); // Clear previous data
-            for (Course course : enrolledCourses) {
-                courseTableModel.addRow(new Object[] { course.getName() });
+        /**
+         * Ends any cell edit in progress so its value reaches the model.
+         */
+        private void stopEditing() {
+            if (sheetTable.isEditing()) {
+                sheetTable.getCellEditor().stopCellEditing();
             }
+        }
 
-            // Update grades table
-            gradeTableModel.setRowCount(0); // Clear previous data
-            for (Course course : enrolledCourses) {
-                String currentGrade = studentManager.getGrade(student.getId(), course.getCode());
-                gradeTableModel.addRow(new Object[] { currentGrade });
+        /**
+         * Refreshes the course combo box and reloads the sheet, keeping the selected course and unsaved edits.
+         */
+        @Override
+        public void refresh() {
+            DefaultComboBoxModel<Course> courseModel = new DefaultComboBoxModel<>();
+            courseModel.addElement(new Course(null, null));
+            Course selectedCourse = null;
+            for (Course course : studentManager.getCourses()) {
+                courseModel.addElement(course);
+                if (shownCourse != null && shownCourse.getCode() != null && selectedCourse == null
+                        && course.getCode().equals(shownCourse.getCode())) {
+                    selectedCourse = course;
+                }
             }
+            if (selectedCourse != null) {
+                courseModel.setSelectedItem(selectedCourse);
+            }
+            shownCourse = (Course) courseModel.getSelectedItem();
+            courseComboBox.setModel(courseModel);
+            sheetModel.load(studentManager, shownCourse.getCode());
+        }
+
+        @Override
+        public JPanel getPanel() {
+            return panel;
         }
     }
 
     /**
-     * Refreshes the course combo box based on the selected student.
+     * Creates a single-column table model whose cells cannot be edited.
      *
-     * @param student            the selected student
-     * @param gradeCourseComboBox the combo box to refresh
+     * @param columnName the name of the column
+     * @return the table model
      */
-    private void refreshGradeCourseComboBox(Student student, JComboBox<Course> gradeCourseComboBox) {
-        List<Course> enrolledCourses = studentManager.getEnrolledCourses(student.getId());
-        DefaultComboBoxModel<Course> courseModel = new DefaultComboBoxModel<>();
-        courseModel.addElement(new Course(null, null));
-        for (Course course : enrolledCourses) {
-            courseModel.addElement(course);
-        }
-        gradeCourseComboBox.setModel(courseModel);
+    private static DefaultTableModel readOnlyTableModel(String columnName) {
+        return new DefaultTableModel(new String[] { columnName }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false; // Make the cells non-editable
+            }
+        };
     }
 }
\ No newline at end of file
@@ -1,21 +1,88 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Manages students, courses, and their associated grades.
+ * Enrollments and grades are partitioned by term: only the current term is held
+ * in memory, and closed terms are sealed into archive files that are loaded on demand.
  */
 public class StudentManager {
     private List<Student> students;
     private List<Course> courses;
     private List<Grade> grades;
+    private Map<String, Student> studentsById;
+    private Map<String, Course> coursesByCode;
+    private Map<String, List<Grade>> gradesByStudent;
+    private Map<String, List<Grade>> gradesByCourse;
+    private Map<String, Timetable> timetables;
+    private QueryCache<String, List<Student>> unEnrolledStudentsCache;
+    private QueryCache<String, List<Course>> enrolledCoursesCache;
+    private String currentTerm;
+    private Path archiveDirectory;
+    private Map<String, Path> archivedTerms;
+    private int lastSequence;
+    private QueryCache<String, TermArchive> archiveCache;
+    private PrerequisiteGraph prerequisites;
+
+    private static final int QUERY_CACHE_SIZE = 256;
+    private static final int ARCHIVE_CACHE_SIZE = 4;
+    private static final String ARCHIVE_EXTENSION = ".term";
+    private static final Set<String> GRADE_MARKS = Set.of("PASS", "FAIL", "W", "I");
 
     /**
      * Constructs a new StudentManager object, initializing the lists for students, courses, and grades.
+     * The current term is "Term 1". No files are read; closed terms are archived in a temporary directory
+     * created when the first term is closed. Use {@link #StudentManager(Path, String)} to keep archives
+     * across runs.
      */
     public StudentManager() {
+        this(null, "Term 1");
+    }
+
+    /**
+     * Constructs a new StudentManager object with the given archive directory and current term.
+     * Terms already archived in the directory are available to historical queries.
+     *
+     * @param archiveDirectory the directory holding the archives of closed terms, or null to use a
+     *                         temporary directory created when the first term is closed
+     * @param currentTerm      the name of the current term
+     * @throws IllegalArgumentException if the current term is already archived in the directory
+     * @throws UncheckedIOException if the directory or one of its archives cannot be read
+     */
+    public StudentManager(Path archiveDirectory, String currentTerm) {
         students = new ArrayList<>();
         courses = new ArrayList<>();
         grades = new ArrayList<>();
+        studentsById = new HashMap<>();
+        coursesByCode = new HashMap<>();
+        gradesByStudent = new HashMap<>();
+        gradesByCourse = new HashMap<>();
+        timetables = new HashMap<>();
+        unEnrolledStudentsCache = new QueryCache<>(QUERY_CACHE_SIZE);
+        enrolledCoursesCache = new QueryCache<>(QUERY_CACHE_SIZE);
+        this.currentTerm = currentTerm;
+        this.archiveDirectory = archiveDirectory;
+        archivedTerms = new LinkedHashMap<>();
+        archiveCache = new QueryCache<>(ARCHIVE_CACHE_SIZE);
+        prerequisites = new PrerequisiteGraph();
+        loadArchivedTerms();
+        if (archivedTerms.containsKey(currentTerm)) {
+            throw new IllegalArgumentException("Term already archived: " + currentTerm);
+        }
     }
 
     /**
@@ -25,6 +92,10 @@ public class StudentManager {
      */
     public void addStudent(Student student) {
         students.add(student);
+        studentsById.putIfAbsent(student.getId(), student);
+        // A new student is unenrolled in every course
+        unEnrolledStudentsCache.invalidateAll();
+        enrolledCoursesCache.invalidate(student.getId());
     }
 
     /**
@@ -37,6 +108,11 @@ public class StudentManager {
         for (int i = 0; i < students.size(); i++) {
             if (students.get(i).getId().equals(oldId)) {
                 students.set(i, updatedStudent);
+                studentsById.remove(oldId);
+                studentsById.put(updatedStudent.getId(), updatedStudent);
+                unEnrolledStudentsCache.invalidateAll();
+                enrolledCoursesCache.invalidate(oldId);
+                enrolledCoursesCache.invalidate(updatedStudent.getId());
                 return;
             }
         }
@@ -49,6 +125,10 @@ public class StudentManager {
      */
     public void addCourse(Course course) {
         courses.add(course);
+        coursesByCode.putIfAbsent(course.getCode(), course);
+        unEnrolledStudentsCache.invalidate(course.getCode());
+        // Existing enrollments may refer to the new course code
+        enrolledCoursesCache.invalidateAll();
     }
 
     /**
@@ -56,9 +136,14 @@ public class StudentManager {
      *
      * @param studentId the ID of the student to enroll
      * @param courseCode the code of the course to enroll in
+     * @throws IllegalArgumentException if the student has not completed the course's prerequisites,
+     *                                  or the course's meeting times clash with the student's timetable
      */
     public void enrollStudent(String studentId, String courseCode) {
-        grades.add(new Grade(studentId, courseCode, null)); // Add a grade with null initially
+        checkEnrollment(studentId, courseCode);
+        bookTimetable(studentId, coursesByCode.get(courseCode));
+        addGradeEntry(new Grade(studentId, courseCode, null)); // Add a grade with null initially
+        invalidateEnrollment(studentId, courseCode);
     }
 
     /**
@@ -79,48 +164,114 @@ public class StudentManager {
         return courses;
     }
 
+    /**
+     * Returns a list of all enrollments in the system, one Grade entry per student and course.
+     * The list is read-only, since the student and course indexes must stay in step with it.
+     *
+     * @return an unmodifiable list of Grade objects
+     */
+    public List<Grade> getGrades() {
+        return Collections.unmodifiableList(grades);
+    }
+
+    /**
+     * Returns the student with the given ID.
+     *
+     * @param studentId the ID of the student
+     * @return the Student object, or null if no student has the ID
+     */
+    public Student getStudent(String studentId) {
+        return studentsById.get(studentId);
+    }
+
+    /**
+     * Returns the course with the given code.
+     *
+     * @param courseCode the code of the course
+     * @return the Course object, or null if no course has the code
+     */
+    public Course getCourse(String courseCode) {
+        return coursesByCode.get(courseCode);
+    }
+
+    /**
+     * Returns the current-term enrollments of a student, looked up through the student index.
+     *
+     * @param studentId the ID of the student
+     * @return an unmodifiable list of Grade objects
+     */
+    public List<Grade> getGradesForStudent(String studentId) {
+        return Collections.unmodifiableList(gradesByStudent.getOrDefault(studentId, Collections.emptyList()));
+    }
+
+    /**
+     * Returns the current-term enrollments of a course, looked up through the course index.
+     *
+     * @param courseCode the code of the course
+     * @return an unmodifiable list of Grade objects
+     */
+    public List<Grade> getGradesForCourse(String courseCode) {
+        return Collections.unmodifiableList(gradesByCourse.getOrDefault(courseCode, Collections.emptyList()));
+    }
+
     /**
      * Returns a list of students who are not enrolled in the specified course.
+     * Results are cached until the course's enrollments or the student list change.
      *
      * @param courseCode the code of the course
-     * @return a list of Student objects who are not enrolled in the course
+     * @return an unmodifiable list of Student objects who are not enrolled in the course
      */
     public List<Student> getUnEnrolledStudents(String courseCode) {
+        return unEnrolledStudentsCache.get(courseCode, this::computeUnEnrolledStudents);
+    }
+
+    private List<Student> computeUnEnrolledStudents(String courseCode) {
+        Set<String> enrolledIds = new HashSet<>();
+        for (Grade grade : getGradesForCourse(courseCode)) {
+            enrolledIds.add(grade.getStudentId());
+        }
         List<Student> unEnrolledStudents = new ArrayList<>();
         for (Student student : students) {
-            boolean enrolled = false;
-            for (Grade grade : grades) {
-                if (grade.getStudentId().equals(student.getId()) && grade.getCourseCode().equals(courseCode)) {
-                    enrolled = true;
-                    break;
-                }
-            }
-            if (!enrolled) {
+            if (!enrolledIds.contains(student.getId())) {
                 unEnrolledStudents.add(student);
             }
         }
-        return unEnrolledStudents;
+        return Collections.unmodifiableList(unEnrolledStudents);
     }
 
     /**
      * Returns a list of courses that a specific student is enrolled in.
+     * Results are cached until the student's enrollments or the course list change.
      *
      * @param studentId the ID of the student
-     * @return a list of Course objects that the student is enrolled in
+     * @return an unmodifiable list of Course objects that the student is enrolled in
      */
     public List<Course> getEnrolledCourses(String studentId) {
+        return enrolledCoursesCache.get(studentId, this::computeEnrolledCourses);
+    }
+
+    private List<Course> computeEnrolledCourses(String studentId) {
         List<Course> enrolledCourses = new ArrayList<>();
-        for (Grade grade : grades) {
-            if (grade.getStudentId().equals(studentId)) {
-                for (Course course : courses) {
-                    if (course.getCode().equals(grade.getCourseCode())) {
-                        enrolledCourses.add(course);
-                        break;
-                    }
-                }
+        for (Grade grade : getGradesForStudent(studentId)) {
+            Course course = coursesByCode.get(grade.getCourseCode());
+            if (course != null) {
+                enrolledCourses.add(course);
             }
         }
-        return enrolledCourses;
+        return Collections.unmodifiableList(enrolledCourses);
+    }
+
+    /**
+     * Returns whether a text is accepted as a grade. Valid grades are the letter grades A to F with an
+     * optional + or - (except F+ and F-), percentages from 0 to 100, and the marks "Pass", "Fail",
+     * "W" (withdrawn), and "I" (incomplete). Case and surrounding spaces are ignored.
+     *
+     * @param grade the grade text, may be null
+     * @return true if the grade can be assigned
+     */
+    public static boolean isValidGrade(String grade) {
+        return GradeColumns.toPoints(grade) != GradeColumns.UNGRADED
+                || grade != null && GRADE_MARKS.contains(grade.trim().toUpperCase(Locale.ROOT));
     }
 
     /**
@@ -129,16 +280,71 @@ public class StudentManager {
      * @param studentId the ID of the student
      * @param courseCode the code of the course
      * @param grade      the grade to assign
+     * @throws IllegalArgumentException if the grade is not valid according to {@link #isValidGrade(String)},
+     *                                  or the student is not enrolled yet and could not be enrolled by
+     *                                  {@link #enrollStudent(String, String)}
      */
     public void assignGrade(String studentId, String courseCode, String grade) {
-        for (Grade g : grades) {
-            if (g.getStudentId().equals(studentId) && g.getCourseCode().equals(courseCode)) {
+        checkGrade(studentId, grade);
+        for (Grade g : getGradesForStudent(studentId)) {
+            if (g.getCourseCode().equals(courseCode)) {
                 g.setGrade(grade);
                 return;
             }
         }
-        // If not found, add a new grade entry
-        grades.add(new Grade(studentId, courseCode, grade));
+        // If not found, add a new grade entry, subject to the same checks as enrollStudent
+        checkEnrollment(studentId, courseCode);
+        bookTimetable(studentId, coursesByCode.get(courseCode));
+        addGradeEntry(new Grade(studentId, courseCode, grade));
+        invalidateEnrollment(studentId, courseCode);
+    }
+
+    /**
+     * Assigns the grades of many students in one course in a single batch.
+     * Cached query results are invalidated once for the whole batch.
+     *
+     * @param courseCode the code of the course
+     * @param newGrades  a map from student ID to the grade to assign
+     * @throws IllegalArgumentException if any grade is not valid according to {@link #isValidGrade(String)},
+     *                                  or a student who is not enrolled yet could not be enrolled by
+     *                                  {@link #enrollStudent(String, String)}; no grade is assigned in that case
+     */
+    public void assignGrades(String courseCode, Map<String, String> newGrades) {
+        for (Map.Entry<String, String> entry : newGrades.entrySet()) {
+            checkGrade(entry.getKey(), entry.getValue());
+        }
+        Map<String, Grade> enrolled = new HashMap<>();
+        for (Grade g : getGradesForCourse(courseCode)) {
+            enrolled.putIfAbsent(g.getStudentId(), g);
+        }
+        Course course = coursesByCode.get(courseCode);
+        for (String studentId : newGrades.keySet()) {
+            if (!enrolled.containsKey(studentId)) {
+                checkEnrollment(studentId, courseCode);
+            }
+        }
+        boolean newEnrollments = false;
+        for (Map.Entry<String, String> entry : newGrades.entrySet()) {
+            Grade g = enrolled.get(entry.getKey());
+            if (g != null) {
+                g.setGrade(entry.getValue());
+            } else {
+                // If not found, add a new grade entry
+                bookTimetable(entry.getKey(), course);
+                addGradeEntry(new Grade(entry.getKey(), courseCode, entry.getValue()));
+                enrolledCoursesCache.invalidate(entry.getKey());
+                newEnrollments = true;
+            }
+        }
+        if (newEnrollments) {
+            unEnrolledStudentsCache.invalidate(courseCode);
+        }
+    }
+
+    private static void checkGrade(String studentId, String grade) {
+        if (!isValidGrade(grade)) {
+            throw new IllegalArgumentException(studentId + ": \"" + grade + "\" is not a valid grade");
+        }
     }
 
     /**
@@ -149,11 +355,391 @@ public class StudentManager {
      * @return the grade of the student in the course, or an empty string if no grade is found
      */
     public String getGrade(String studentId, String courseCode) {
+        for (Grade grade : getGradesForStudent(studentId)) {
+            if (grade.getCourseCode().equals(courseCode)) {
+                return grade.getGrade();
+            }
+        }
+        return ""; // Return empty string if no grade found
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the cache behind {@link #getUnEnrolledStudents(String)}.
+     *
+     * @return the CacheStats object
+     */
+    public CacheStats getUnEnrolledStudentsCacheStats() {
+        return unEnrolledStudentsCache.getStats();
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the cache behind {@link #getEnrolledCourses(String)}.
+     *
+     * @return the CacheStats object
+     */
+    public CacheStats getEnrolledCoursesCacheStats() {
+        return enrolledCoursesCache.getStats();
+    }
+
+    /**
+     * Invalidates the cached query results affected by a new enrollment.
+     */
+    private void invalidateEnrollment(String studentId, String courseCode) {
+        unEnrolledStudentsCache.invalidate(courseCode);
+        enrolledCoursesCache.invalidate(studentId);
+    }
+
+    /**
+     * Finds every timetable clash across all students in one pass over the enrollments.
+     *
+     * @return a list of TimetableClash objects, one per overlapping pair of meetings
+     */
+    public List<TimetableClash> findAllClashes() {
+        Map<String, List<Course>> coursesByStudent = new LinkedHashMap<>();
         for (Grade grade : grades) {
-            if (grade.getStudentId().equals(studentId) && grade.getCourseCode().equals(courseCode)) {
+            Course course = coursesByCode.get(grade.getCourseCode());
+            if (course != null && !course.getMeetingTimes().isEmpty()) {
+                coursesByStudent.computeIfAbsent(grade.getStudentId(), id -> new ArrayList<>()).add(course);
+            }
+        }
+        List<TimetableClash> clashes = new ArrayList<>();
+        for (Map.Entry<String, List<Course>> entry : coursesByStudent.entrySet()) {
+            clashes.addAll(Timetable.findClashes(entry.getKey(), entry.getValue()));
+        }
+        return clashes;
+    }
+
+    /**
+     * Adds an enrollment to the grade list and to the student and course indexes.
+     */
+    private void addGradeEntry(Grade grade) {
+        grades.add(grade);
+        gradesByStudent.computeIfAbsent(grade.getStudentId(), id -> new ArrayList<>()).add(grade);
+        gradesByCourse.computeIfAbsent(grade.getCourseCode(), code -> new ArrayList<>()).add(grade);
+    }
+
+    /**
+     * Rejects a new enrollment whose prerequisites are not completed or whose meeting times clash.
+     */
+    private void checkEnrollment(String studentId, String courseCode) {
+        List<String> missing = getMissingPrerequisites(studentId, courseCode);
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException(
+                    studentId + " has not completed the prerequisites of " + courseCode + ": " + missing);
+        }
+        checkClashes(studentId, coursesByCode.get(courseCode));
+    }
+
+    /**
+     * Rejects a course whose meeting times clash with a course already in the student's timetable.
+     */
+    private void checkClashes(String studentId, Course course) {
+        if (course == null || course.getMeetingTimes().isEmpty()) {
+            return;
+        }
+        Timetable timetable = timetables.get(studentId);
+        if (timetable == null) {
+            return;
+        }
+        for (MeetingTime meetingTime : course.getMeetingTimes()) {
+            String clash = timetable.findClash(meetingTime);
+            if (clash != null) {
+                throw new IllegalArgumentException(
+                        course.getCode() + " clashes with " + clash + " on " + meetingTime);
+            }
+        }
+    }
+
+    /**
+     * Adds the meeting times of a course to a student's timetable.
+     */
+    private void bookTimetable(String studentId, Course course) {
+        if (course == null || course.getMeetingTimes().isEmpty()) {
+            return;
+        }
+        Timetable timetable = timetables.computeIfAbsent(studentId, id -> new Timetable());
+        for (MeetingTime meetingTime : course.getMeetingTimes()) {
+            timetable.add(course.getCode(), meetingTime);
+        }
+    }
+
+    /**
+     * Returns the name of the current term.
+     *
+     * @return the current term
+     */
+    public String getCurrentTerm() {
+        return currentTerm;
+    }
+
+    /**
+     * Returns the names of the closed terms, in the order they were archived.
+     *
+     * @return a list of term names
+     */
+    public List<String> getArchivedTerms() {
+        return new ArrayList<>(archivedTerms.keySet());
+    }
+
+    /**
+     * Closes the current term: its enrollments and grades are sealed into an archive file,
+     * and a new, empty term becomes current. Students and courses carry over.
+     *
+     * @param nextTerm the name of the new current term
+     * @throws IOException if the archive cannot be written
+     * @throws IllegalArgumentException if the name is already used by the current or a closed term
+     */
+    public void closeTerm(String nextTerm) throws IOException {
+        if (nextTerm.equals(currentTerm) || archivedTerms.containsKey(nextTerm)) {
+            throw new IllegalArgumentException("Term already exists: " + nextTerm);
+        }
+        if (archiveDirectory == null) {
+            archiveDirectory = Files.createTempDirectory("terms");
+        } else {
+            Files.createDirectories(archiveDirectory);
+        }
+        Path path = archiveDirectory.resolve(currentTerm.replaceAll("[^A-Za-z0-9._-]", "_") + ARCHIVE_EXTENSION);
+        if (Files.exists(path)) {
+            throw new IOException("Archive already exists: " + path);
+        }
+        TermArchive.write(path, currentTerm, lastSequence + 1, grades, StudentManager::isPassing);
+        lastSequence++;
+        archivedTerms.put(currentTerm, path);
+
+        currentTerm = nextTerm;
+        grades = new ArrayList<>();
+        gradesByStudent.clear();
+        gradesByCourse.clear();
+        timetables.clear();
+        unEnrolledStudentsCache.invalidateAll();
+        enrolledCoursesCache.invalidateAll();
+    }
+
+    /**
+     * Adds a prerequisite to a course.
+     *
+     * @param courseCode       the code of the course
+     * @param prerequisiteCode the code of the course that must be completed first
+     * @throws IllegalArgumentException if the prerequisite would create a cycle
+     */
+    public void addPrerequisite(String courseCode, String prerequisiteCode) {
+        prerequisites.addPrerequisite(courseCode, prerequisiteCode);
+    }
+
+    /**
+     * Returns the prerequisite graph of the course catalog.
+     *
+     * @return the PrerequisiteGraph object
+     */
+    public PrerequisiteGraph getPrerequisites() {
+        return prerequisites;
+    }
+
+    /**
+     * Returns the prerequisites of a course, direct or transitive, that a student has not completed.
+     * A course counts as completed once the student has a passing grade in it in any term.
+     *
+     * @param studentId  the ID of the student
+     * @param courseCode the code of the course
+     * @return a list of the missing course codes, empty if the student may enroll
+     * @throws UncheckedIOException if an archived term cannot be read
+     */
+    public List<String> getMissingPrerequisites(String studentId, String courseCode) {
+        if (!prerequisites.hasPrerequisites(courseCode)) {
+            return List.of();
+        }
+        return prerequisites.getMissingPrerequisites(courseCode, completedCourses(studentId));
+    }
+
+    /**
+     * Returns the students who have completed every prerequisite of a course.
+     *
+     * @param courseCode the code of the course
+     * @return a list of eligible Student objects
+     * @throws UncheckedIOException if an archived term cannot be read
+     */
+    public List<Student> getEligibleStudents(String courseCode) {
+        if (!prerequisites.hasPrerequisites(courseCode)) {
+            return new ArrayList<>(students);
+        }
+        // Only completions of the course's prerequisites are read: from each archive's completion
+        // index, and from the course index of the current term. Bit i stands for required.get(i).
+        List<String> required = prerequisites.getAllPrerequisites(courseCode);
+        Map<String, BitSet> completed = new HashMap<>();
+        for (String term : archivedTerms.keySet()) {
+            try {
+                getArchive(term).addCompletions(required, completed);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        for (int i = 0; i < required.size(); i++) {
+            for (Grade grade : getGradesForCourse(required.get(i))) {
+                if (isPassing(grade)) {
+                    completed.computeIfAbsent(grade.getStudentId(), id -> new BitSet()).set(i);
+                }
+            }
+        }
+        List<Student> eligible = new ArrayList<>();
+        for (Student student : students) {
+            BitSet courses = completed.get(student.getId());
+            if (courses != null && courses.cardinality() == required.size()) {
+                eligible.add(student);
+            }
+        }
+        return eligible;
+    }
+
+    /**
+     * Returns the courses a student has completed in any term, as a bitset over the prerequisite graph.
+     * Closed terms are read through the student's archive block only.
+     */
+    private BitSet completedCourses(String studentId) {
+        List<String> completed = new ArrayList<>();
+        for (String term : archivedTerms.keySet()) {
+            addCompletions(completed, getArchivedGrades(studentId, term));
+        }
+        addCompletions(completed, getGradesForStudent(studentId));
+        return prerequisites.toBitSet(completed);
+    }
+
+    private static void addCompletions(List<String> completed, List<Grade> grades) {
+        for (Grade grade : grades) {
+            if (isPassing(grade)) {
+                completed.add(grade.getCourseCode());
+            }
+        }
+    }
+
+    /**
+     * Returns whether a grade completes its course: a letter grade from D- up, or a percentage of 60 or more.
+     * Grades that are not letters A to F or percentages from 0 to 100, such as "Pass", "W", "I", or "F+",
+     * never complete a course.
+     */
+    private static boolean isPassing(Grade grade) {
+        return GradeColumns.toPoints(grade.getGrade()) > 0;
+    }
+
+    /**
+     * Returns all enrollments of a term, one Grade entry per student and course.
+     *
+     * @param term the name of the current or a closed term
+     * @return a list of Grade objects
+     * @throws IllegalArgumentException if the term is unknown
+     * @throws UncheckedIOException if the term's archive cannot be read
+     */
+    public List<Grade> getGrades(String term) {
+        if (term.equals(currentTerm)) {
+            return getGrades();
+        }
+        try {
+            return getArchive(term).getAllGrades();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns a list of courses that a specific student was enrolled in during a term.
+     *
+     * @param studentId the ID of the student
+     * @param term      the name of the current or a closed term
+     * @return a list of Course objects that the student was enrolled in
+     * @throws IllegalArgumentException if the term is unknown
+     * @throws UncheckedIOException if the term's archive cannot be read
+     */
+    public List<Course> getEnrolledCourses(String studentId, String term) {
+        if (term.equals(currentTerm)) {
+            return getEnrolledCourses(studentId);
+        }
+        List<Course> enrolledCourses = new ArrayList<>();
+        for (Grade grade : getArchivedGrades(studentId, term)) {
+            Course course = coursesByCode.get(grade.getCourseCode());
+            if (course != null) {
+                enrolledCourses.add(course);
+            }
+        }
+        return enrolledCourses;
+    }
+
+    /**
+     * Returns the grade of a student in a specific course during a term.
+     *
+     * @param studentId the ID of the student
+     * @param courseCode the code of the course
+     * @param term       the name of the current or a closed term
+     * @return the grade of the student in the course, or an empty string if no grade is found
+     * @throws IllegalArgumentException if the term is unknown
+     * @throws UncheckedIOException if the term's archive cannot be read
+     */
+    public String getGrade(String studentId, String courseCode, String term) {
+        if (term.equals(currentTerm)) {
+            return getGrade(studentId, courseCode);
+        }
+        for (Grade grade : getArchivedGrades(studentId, term)) {
+            if (grade.getCourseCode().equals(courseCode)) {
                 return grade.getGrade();
             }
         }
         return ""; // Return empty string if no grade found
     }
+
+    /**
+     * Returns the grades of a student in a closed term, reading only that student's archive block.
+     */
+    private List<Grade> getArchivedGrades(String studentId, String term) {
+        try {
+            return getArchive(term).getGrades(studentId);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns the archive of a closed term through the bounded archive cache.
+     */
+    private TermArchive getArchive(String term) throws IOException {
+        Path path = archivedTerms.get(term);
+        if (path == null) {
+            throw new IllegalArgumentException("Unknown term: " + term);
+        }
+        try {
+            return archiveCache.get(term, t -> {
+                try {
+                    return TermArchive.open(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Registers the terms already archived in the archive directory, oldest first.
+     */
+    private void loadArchivedTerms() {
+        if (archiveDirectory == null || !Files.isDirectory(archiveDirectory)) {
+            return;
+        }
+        // Order by the sequence number written when each term was closed, not by file times,
+        // which change when the directory is copied or restored
+        Map<Path, TermArchive.Header> headers = new HashMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(archiveDirectory, "*" + ARCHIVE_EXTENSION)) {
+            for (Path path : files) {
+                headers.put(path, TermArchive.readHeader(path));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<Path> paths = new ArrayList<>(headers.keySet());
+        paths.sort(Comparator.comparingInt((Path p) -> headers.get(p).getSequence())
+                .thenComparing(p -> headers.get(p).getTerm()));
+        for (Path path : paths) {
+            TermArchive.Header header = headers.get(path);
+            archivedTerms.put(header.getTerm(), path);
+            lastSequence = Math.max(lastSequence, header.getSequence());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,105 @@
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * A query over the students of a {@link StudentManager}.
+ */
+public class StudentQuery extends Query<Student> {
+    private final StudentManager studentManager;
+
+    /**
+     * Constructs a new StudentQuery matching every student.
+     *
+     * @param studentManager the manager to query
+     */
+    public StudentQuery(StudentManager studentManager) {
+        super("students", studentManager::getStudents);
+        this.studentManager = studentManager;
+    }
+
+    /**
+     * Keeps the student with the given ID.
+     *
+     * @param studentId the ID of the student
+     * @return this query
+     */
+    public StudentQuery idIs(String studentId) {
+        addIndexedFilter("id = " + studentId, student -> student.getId().equals(studentId), "students by id",
+                () -> studentManager.getStudent(studentId) == null ? 0 : 1, () -> {
+                    Student student = studentManager.getStudent(studentId);
+                    return student == null ? List.of() : List.of(student);
+                });
+        return this;
+    }
+
+    /**
+     * Keeps the students enrolled in a course in the current term.
+     *
+     * @param courseCode the code of the course
+     * @return this query
+     */
+    public StudentQuery enrolledIn(String courseCode) {
+        return enrolledIn(courseCode, "enrolled in " + courseCode, grade -> true);
+    }
+
+    /**
+     * Keeps the students enrolled in a course whose recognized grade is below the given grade.
+     *
+     * @param courseCode the code of the course
+     * @param grade      the exclusive upper bound, as a letter grade or percentage
+     * @return this query
+     * @throws IllegalArgumentException if the bound is not a recognized grade
+     */
+    public StudentQuery gradeBelowIn(String courseCode, String grade) {
+        byte bound = GradeColumns.toPoints(grade);
+        if (bound == GradeColumns.UNGRADED) {
+            throw new IllegalArgumentException("Unrecognized grade: " + grade);
+        }
+        return enrolledIn(courseCode, "grade < " + grade + " in " + courseCode, g -> {
+            byte points = GradeColumns.toPoints(g.getGrade());
+            return points != GradeColumns.UNGRADED && points < bound;
+        });
+    }
+
+    /**
+     * Keeps the students matching an arbitrary condition.
+     *
+     * @param description the description shown by {@link #explain()}
+     * @param predicate   the condition a student must satisfy
+     * @return this query
+     */
+    public StudentQuery where(String description, Predicate<Student> predicate) {
+        addFilter(description, predicate);
+        return this;
+    }
+
+    /**
+     * Adds a filter on the students with a matching enrollment in a course, answered through the course index.
+     * The enrollments are read when the query runs, so the filter reflects the manager's state at that time.
+     */
+    private StudentQuery enrolledIn(String courseCode, String description, Predicate<Grade> condition) {
+        addIndexedFilter(description,
+                student -> studentManager.getGradesForStudent(student.getId()).stream()
+                        .anyMatch(grade -> grade.getCourseCode().equals(courseCode) && condition.test(grade)),
+                "enrollments by course", () -> studentManager.getGradesForCourse(courseCode).size(), () -> {
+                    Set<String> ids = new LinkedHashSet<>();
+                    for (Grade grade : studentManager.getGradesForCourse(courseCode)) {
+                        if (condition.test(grade)) {
+                            ids.add(grade.getStudentId());
+                        }
+                    }
+                    List<Student> students = new ArrayList<>(ids.size());
+                    for (String id : ids) {
+                        Student student = studentManager.getStudent(id);
+                        if (student != null) {
+                            students.add(student);
+                        }
+                    }
+                    return students;
+                });
+        return this;
+    }
+}
@@ -0,0 +1,372 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * An immutable, compressed archive of the grades of a closed term.
+ * The file starts with an index mapping student IDs to blocks, followed by
+ * deflate-compressed blocks of up to {@value #STUDENTS_PER_BLOCK} students each, and
+ * a completion index listing, per course, the students who completed it.
+ * Opening an archive reads only the student index; a student's grades are read by
+ * decompressing the one block that holds them, and completions are read per course.
+ */
+public class TermArchive {
+    private static final int MAGIC = 0x5354524D;
+    private static final int VERSION = 3;
+    private static final int STUDENTS_PER_BLOCK = 64;
+
+    private final Path path;
+    private final String term;
+    private final long dataStart;
+    private final Map<String, Integer> index;
+    private final String[] studentIds;
+    private final long[] blockOffsets;
+
+    private TermArchive(Path path, String term, long dataStart, Map<String, Integer> index, String[] studentIds,
+                        long[] blockOffsets) {
+        this.path = path;
+        this.term = term;
+        this.dataStart = dataStart;
+        this.index = index;
+        this.studentIds = studentIds;
+        this.blockOffsets = blockOffsets;
+    }
+
+    /**
+     * Seals the grades of a term into a new archive file.
+     * The file is written under a temporary name and moved into place once complete.
+     *
+     * @param path      the archive file to create
+     * @param term      the name of the term
+     * @param sequence  the position of the term in the order terms were closed, starting at 1
+     * @param grades    the grades of the term
+     * @param completes decides which grades complete their course, for the completion index
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, String term, int sequence, List<Grade> grades, Predicate<Grade> completes)
+            throws IOException {
+        Map<String, List<Grade>> gradesByStudent = new LinkedHashMap<>();
+        for (Grade grade : grades) {
+            gradesByStudent.computeIfAbsent(grade.getStudentId(), id -> new ArrayList<>()).add(grade);
+        }
+
+        // Completions are recorded as positions in the student index, grouped by course
+        Map<String, Integer> positions = new HashMap<>();
+        for (String studentId : gradesByStudent.keySet()) {
+            positions.put(studentId, positions.size());
+        }
+        Map<String, List<Integer>> completions = new LinkedHashMap<>();
+        for (Grade grade : grades) {
+            if (completes.test(grade)) {
+                completions.computeIfAbsent(grade.getCourseCode(), code -> new ArrayList<>())
+                        .add(positions.get(grade.getStudentId()));
+            }
+        }
+
+        List<List<Grade>> students = new ArrayList<>(gradesByStudent.values());
+        List<byte[]> blocks = new ArrayList<>();
+        for (int from = 0; from < students.size(); from += STUDENTS_PER_BLOCK) {
+            blocks.add(compress(students.subList(from, Math.min(from + STUDENTS_PER_BLOCK, students.size()))));
+        }
+
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(term);
+            out.writeInt(sequence);
+            out.writeInt(gradesByStudent.size());
+            for (String studentId : gradesByStudent.keySet()) {
+                out.writeUTF(studentId);
+            }
+            out.writeInt(blocks.size());
+            long offset = 0;
+            for (byte[] block : blocks) {
+                out.writeLong(offset);
+                offset += block.length;
+            }
+            out.writeLong(offset);
+            for (byte[] block : blocks) {
+                out.write(block);
+            }
+            out.writeInt(completions.size());
+            for (Map.Entry<String, List<Integer>> entry : completions.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeInt(entry.getValue().size());
+                for (int position : entry.getValue()) {
+                    out.writeInt(position);
+                }
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Opens an archive file, reading its index but none of its grade blocks.
+     *
+     * @param path the archive file
+     * @return the opened archive
+     * @throws IOException if the file cannot be read or is not a term archive
+     */
+    public static TermArchive open(Path path) throws IOException {
+        try (CountingInputStream counter = new CountingInputStream(
+                new BufferedInputStream(Files.newInputStream(path)));
+             DataInputStream in = new DataInputStream(counter)) {
+            String term = readHeader(in, path).getTerm();
+            int students = in.readInt();
+            Map<String, Integer> index = new LinkedHashMap<>(students * 2);
+            String[] studentIds = new String[students];
+            for (int i = 0; i < students; i++) {
+                studentIds[i] = in.readUTF();
+                index.put(studentIds[i], i / STUDENTS_PER_BLOCK);
+            }
+            long[] blockOffsets = new long[in.readInt() + 1];
+            for (int i = 0; i < blockOffsets.length; i++) {
+                blockOffsets[i] = in.readLong();
+            }
+            return new TermArchive(path, term, counter.count, index, studentIds, blockOffsets);
+        }
+    }
+
+    /**
+     * Reads the term name and sequence number stored in an archive file without reading its index.
+     *
+     * @param path the archive file
+     * @return the header of the archive
+     * @throws IOException if the file cannot be read or is not a term archive
+     */
+    public static Header readHeader(Path path) throws IOException {
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(path))) {
+            return readHeader(in, path);
+        }
+    }
+
+    private static Header readHeader(DataInputStream in, Path path) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("Not a term archive: " + path);
+        }
+        String term = in.readUTF();
+        return new Header(term, in.readInt());
+    }
+
+    /**
+     * Returns the name of the archived term.
+     *
+     * @return the name of the term
+     */
+    public String getTerm() {
+        return term;
+    }
+
+    /**
+     * Returns the IDs of the students with grades in this term.
+     *
+     * @return an unmodifiable list of student IDs
+     */
+    public List<String> getStudentIds() {
+        return List.of(studentIds);
+    }
+
+    /**
+     * Returns the grades of a student in this term.
+     *
+     * @param studentId the ID of the student
+     * @return an unmodifiable list of Grade objects, empty if the student has none
+     * @throws IOException if the archive cannot be read
+     */
+    public List<Grade> getGrades(String studentId) throws IOException {
+        Integer block = index.get(studentId);
+        if (block == null) {
+            return Collections.emptyList();
+        }
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            file.seek(dataStart + blockOffsets[block]);
+            List<Grade> grades = new ArrayList<>();
+            decompress(readBlock(file, block), studentId, grades);
+            return Collections.unmodifiableList(grades);
+        }
+    }
+
+    /**
+     * Returns all grades of this term, decompressing every block in file order.
+     *
+     * @return an unmodifiable list of Grade objects
+     * @throws IOException if the archive cannot be read
+     */
+    public List<Grade> getAllGrades() throws IOException {
+        List<Grade> grades = new ArrayList<>();
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+            file.seek(dataStart);
+            for (int block = 0; block < blockOffsets.length - 1; block++) {
+                decompress(readBlock(file, block), null, grades);
+            }
+        }
+        return Collections.unmodifiableList(grades);
+    }
+
+    /**
+     * Adds the completions of some courses in this term to a map of per-student bitsets,
+     * reading only the completion index. Bit {@code i} of a student's bitset is set when the
+     * student completed {@code courseCodes.get(i)}.
+     *
+     * @param courseCodes the codes of the courses of interest
+     * @param completed   a map from student ID to completed courses, updated in place
+     * @throws IOException if the archive cannot be read
+     */
+    public void addCompletions(List<String> courseCodes, Map<String, BitSet> completed) throws IOException {
+        Map<String, Integer> wanted = new HashMap<>();
+        for (int i = 0; i < courseCodes.size(); i++) {
+            wanted.putIfAbsent(courseCodes.get(i), i);
+        }
+        try (InputStream file = Files.newInputStream(path)) {
+            // The completion index follows the last block
+            file.skipNBytes(dataStart + blockOffsets[blockOffsets.length - 1]);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(file));
+            int courses = in.readInt();
+            for (int c = 0; c < courses && !wanted.isEmpty(); c++) {
+                Integer bit = wanted.remove(in.readUTF());
+                int count = in.readInt();
+                if (bit == null) {
+                    in.skipNBytes(count * 4L);
+                    continue;
+                }
+                for (int i = 0; i < count; i++) {
+                    completed.computeIfAbsent(studentIds[in.readInt()], id -> new BitSet()).set(bit);
+                }
+            }
+        }
+    }
+
+    private byte[] readBlock(RandomAccessFile file, int block) throws IOException {
+        byte[] bytes = new byte[(int) (blockOffsets[block + 1] - blockOffsets[block])];
+        file.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Compresses the grades of a run of students, each list holding the grades of one student.
+     */
+    private static byte[] compress(List<List<Grade>> students) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            out.writeInt(students.size());
+            for (List<Grade> grades : students) {
+                out.writeUTF(grades.get(0).getStudentId());
+                out.writeInt(grades.size());
+                for (Grade grade : grades) {
+                    out.writeUTF(grade.getCourseCode());
+                    out.writeBoolean(grade.getGrade() != null);
+                    if (grade.getGrade() != null) {
+                        out.writeUTF(grade.getGrade());
+                    }
+                }
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decompresses a block, adding the grades of the given student, or of every student if it is null.
+     */
+    private static void decompress(byte[] block, String studentId, List<Grade> grades) throws IOException {
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(block)))) {
+            int students = in.readInt();
+            for (int s = 0; s < students; s++) {
+                String id = in.readUTF();
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    String courseCode = in.readUTF();
+                    String grade = in.readBoolean() ? in.readUTF() : null;
+                    if (studentId == null || studentId.equals(id)) {
+                        grades.add(new Grade(id, courseCode, grade));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The term name and sequence number at the start of an archive file.
+     */
+    public static class Header {
+        private final String term;
+        private final int sequence;
+
+        Header(String term, int sequence) {
+            this.term = term;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Returns the name of the archived term.
+         *
+         * @return the name of the term
+         */
+        public String getTerm() {
+            return term;
+        }
+
+        /**
+         * Returns the position of the term in the order terms were closed, starting at 1.
+         *
+         * @return the sequence number
+         */
+        public int getSequence() {
+            return sequence;
+        }
+    }
+
+    /**
+     * Counts the bytes read so the start of the block section is known after the index.
+     */
+    private static class CountingInputStream extends InputStream {
+        private final InputStream in;
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            this.in = in;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
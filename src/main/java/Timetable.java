@@ -0,0 +1,114 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The weekly timetable of one student, used to detect clashes when enrolling.
+ * Booked meetings are kept as disjoint busy blocks in a sorted map keyed by
+ * their start minute, so a clash check is a single floor lookup.
+ */
+public class Timetable {
+    private final TreeMap<Integer, Block> blocks = new TreeMap<>();
+
+    /**
+     * Returns the code of a booked course with a meeting that overlaps the given meeting time.
+     *
+     * @param meetingTime the meeting time to check
+     * @return the code of a clashing course, or null if the slot is free
+     */
+    public String findClash(MeetingTime meetingTime) {
+        int start = meetingTime.getWeekStart();
+        int end = meetingTime.getWeekEnd();
+        Map.Entry<Integer, Block> entry = blocks.floorEntry(end - 1);
+        if (entry == null || entry.getValue().end <= start) {
+            return null;
+        }
+        // The block is the union of its meetings, so one of them overlaps; report that course, not the block's first
+        for (Slot slot : entry.getValue().slots) {
+            if (slot.meetingTime.getWeekStart() < end && slot.meetingTime.getWeekEnd() > start) {
+                return slot.courseCode;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Books a meeting time for a course, merging it with any busy block it overlaps.
+     *
+     * @param courseCode  the code of the course
+     * @param meetingTime the meeting time to book
+     */
+    public void add(String courseCode, MeetingTime meetingTime) {
+        int start = meetingTime.getWeekStart();
+        Block merged = new Block(meetingTime.getWeekEnd());
+        merged.slots.add(new Slot(courseCode, meetingTime));
+
+        Map.Entry<Integer, Block> entry = blocks.floorEntry(merged.end - 1);
+        while (entry != null && entry.getValue().end > start) {
+            Block block = blocks.remove(entry.getKey());
+            start = Math.min(start, entry.getKey());
+            merged.end = Math.max(merged.end, block.end);
+            merged.slots.addAll(block.slots);
+            entry = blocks.floorEntry(merged.end - 1);
+        }
+        blocks.put(start, merged);
+    }
+
+    /**
+     * Finds every pair of overlapping meetings in a list of booked courses with a sorted sweep.
+     *
+     * @param studentId the ID of the student the courses belong to
+     * @param courses   the courses the student is enrolled in
+     * @return the clashes found, one per overlapping pair of meetings
+     */
+    public static List<TimetableClash> findClashes(String studentId, List<Course> courses) {
+        List<Slot> slots = new ArrayList<>();
+        for (Course course : courses) {
+            for (MeetingTime meetingTime : course.getMeetingTimes()) {
+                slots.add(new Slot(course.getCode(), meetingTime));
+            }
+        }
+        slots.sort(Comparator.comparingInt(slot -> slot.meetingTime.getWeekStart()));
+
+        List<TimetableClash> clashes = new ArrayList<>();
+        List<Slot> active = new ArrayList<>();
+        for (Slot slot : slots) {
+            int start = slot.meetingTime.getWeekStart();
+            active.removeIf(other -> other.meetingTime.getWeekEnd() <= start);
+            for (Slot other : active) {
+                if (!other.courseCode.equals(slot.courseCode)) {
+                    clashes.add(new TimetableClash(studentId, other.courseCode, slot.courseCode, slot.meetingTime));
+                }
+            }
+            active.add(slot);
+        }
+        return clashes;
+    }
+
+    /**
+     * A run of overlapping meetings, with the meetings booked in it.
+     */
+    private static class Block {
+        private int end;
+        private final List<Slot> slots = new ArrayList<>();
+
+        Block(int end) {
+            this.end = end;
+        }
+    }
+
+    /**
+     * A single meeting of a course, used by the busy blocks and the clash sweep.
+     */
+    private static class Slot {
+        private final String courseCode;
+        private final MeetingTime meetingTime;
+
+        Slot(String courseCode, MeetingTime meetingTime) {
+            this.courseCode = courseCode;
+            this.meetingTime = meetingTime;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Represents two courses of the same student whose meeting times overlap.
+ */
+public class TimetableClash {
+    private String studentId;
+    private String courseCode;
+    private String otherCourseCode;
+    private MeetingTime meetingTime;
+
+    /**
+     * Constructs a new TimetableClash object.
+     *
+     * @param studentId       the ID of the student
+     * @param courseCode      the code of the first course
+     * @param otherCourseCode the code of the course it clashes with
+     * @param meetingTime     the meeting of the other course that overlaps the first course
+     */
+    public TimetableClash(String studentId, String courseCode, String otherCourseCode, MeetingTime meetingTime) {
+        this.studentId = studentId;
+        this.courseCode = courseCode;
+        this.otherCourseCode = otherCourseCode;
+        this.meetingTime = meetingTime;
+    }
+
+    /**
+     * Returns the student ID.
+     *
+     * @return the student ID
+     */
+    public String getStudentId() {
+        return studentId;
+    }
+
+    /**
+     * Returns the code of the first course.
+     *
+     * @return the course code
+     */
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    /**
+     * Returns the code of the course that clashes with the first course.
+     *
+     * @return the other course code
+     */
+    public String getOtherCourseCode() {
+        return otherCourseCode;
+    }
+
+    /**
+     * Returns the overlapping meeting of the other course.
+     *
+     * @return the meeting time
+     */
+    public MeetingTime getMeetingTime() {
+        return meetingTime;
+    }
+
+    /**
+     * Returns a string representation of the TimetableClash object.
+     *
+     * @return the string representation of the TimetableClash object
+     */
+    @Override
+    public String toString() {
+        return studentId + ": " + courseCode + " clashes with " + otherCourseCode + " on " + meetingTime;
+    }
+}
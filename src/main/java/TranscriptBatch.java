@@ -0,0 +1,249 @@
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates term-end transcripts for every student in a single batch.
+ * Each student's enrollments come from the manager's student index, transcripts
+ * are rendered in parallel chunks, and they are streamed to a file in student order.
+ *
+ * <p>Usage: {@code java TranscriptBatch <output> [TEXT|CSV] [students]} renders the
+ * transcripts of a generated institution and prints the throughput.</p>
+ */
+public class TranscriptBatch {
+    /**
+     * The output format of the generated transcripts.
+     */
+    public enum Format { TEXT, CSV }
+
+    private static final int CHUNK_SIZE = 512;
+    private static final int SEQUENTIAL_THRESHOLD = 32;
+    private static final int DEFAULT_STUDENTS = 100_000;
+    private static final int COURSES = 500;
+    private static final int COURSES_PER_STUDENT = 6;
+    private static final String[] GRADES = { "A", "A-", "B+", "B", "B-", "C+", "C", "D", "F" };
+
+    private final StudentManager studentManager;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new TranscriptBatch that renders on the common fork/join pool.
+     *
+     * @param studentManager the manager holding the students, courses, and grades
+     */
+    public TranscriptBatch(StudentManager studentManager) {
+        this(studentManager, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a new TranscriptBatch that renders on the given fork/join pool.
+     *
+     * @param studentManager the manager holding the students, courses, and grades
+     * @param pool           the pool used to render transcripts
+     */
+    public TranscriptBatch(StudentManager studentManager, ForkJoinPool pool) {
+        this.studentManager = studentManager;
+        this.pool = pool;
+    }
+
+    /**
+     * Generates an institution of {@value #COURSES} courses and the given number of students with
+     * {@value #COURSES_PER_STUDENT} grades each, renders all transcripts, and prints the report.
+     * Prints a usage message and exits with status 2 if no output file is given.
+     *
+     * @param args the output file, then optionally the format (TEXT or CSV, default TEXT)
+     *             and the number of students (default {@value #DEFAULT_STUDENTS})
+     * @throws IOException if the output file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java TranscriptBatch <output> [TEXT|CSV] [students]");
+            System.exit(2);
+        }
+        Path output = Path.of(args[0]);
+        Format format = args.length > 1 ? Format.valueOf(args[1].toUpperCase()) : Format.TEXT;
+        int studentCount = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_STUDENTS;
+
+        StudentManager studentManager = new StudentManager();
+        for (int c = 0; c < COURSES; c++) {
+            studentManager.addCourse(new Course("C" + c, "Course " + c));
+        }
+        for (int s = 0; s < studentCount; s++) {
+            String studentId = "S" + s;
+            studentManager.addStudent(new Student(studentId, "Student " + s));
+            for (int c = 0; c < COURSES_PER_STUDENT; c++) {
+                studentManager.assignGrade(studentId, "C" + (s * 7 + c * 31) % COURSES,
+                        GRADES[(s + c) % GRADES.length]);
+            }
+        }
+
+        System.out.println(new TranscriptBatch(studentManager).run(output, format));
+    }
+
+    /**
+     * Renders a transcript for every student and writes them to the given file.
+     * Only one chunk of rendered transcripts is held in memory at a time.
+     *
+     * @param output the file to write
+     * @param format the output format
+     * @return a report with the number of transcripts written and the throughput
+     * @throws IOException if the file cannot be written
+     */
+    public Report run(Path output, Format format) throws IOException {
+        long start = System.nanoTime();
+
+        List<Student> students = studentManager.getStudents();
+        String[] chunk = new String[Math.min(CHUNK_SIZE, Math.max(students.size(), 1))];
+
+        try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            if (format == Format.CSV) {
+                writer.write("student_id,student_name,course_code,course_name,grade\n");
+            }
+            for (int from = 0; from < students.size(); from += chunk.length) {
+                int to = Math.min(from + chunk.length, students.size());
+                pool.invoke(new RenderTask(studentManager, students, from, to, from, chunk, format));
+                for (int i = 0; i < to - from; i++) {
+                    writer.write(chunk[i]);
+                    chunk[i] = null;
+                }
+            }
+        }
+
+        return new Report(students.size(), System.nanoTime() - start);
+    }
+
+    /**
+     * Renders the transcript of a single student.
+     */
+    private static String render(StudentManager studentManager, Student student, Format format) {
+        List<Grade> grades = studentManager.getGradesForStudent(student.getId());
+        StringBuilder sb = new StringBuilder();
+        if (format == Format.CSV) {
+            for (Grade grade : grades) {
+                Course course = studentManager.getCourse(grade.getCourseCode());
+                sb.append(csv(student.getId())).append(',')
+                        .append(csv(student.getName())).append(',')
+                        .append(csv(grade.getCourseCode())).append(',')
+                        .append(csv(course == null ? "" : course.getName())).append(',')
+                        .append(csv(grade.getGrade() == null ? "" : grade.getGrade())).append('\n');
+            }
+        } else {
+            sb.append("Transcript: ").append(student).append('\n');
+            if (grades.isEmpty()) {
+                sb.append("  (No enrolled courses)\n");
+            }
+            for (Grade grade : grades) {
+                Course course = studentManager.getCourse(grade.getCourseCode());
+                sb.append("  ").append(course == null ? grade.getCourseCode() : course.toString())
+                        .append(": ").append(grade.getGrade() == null ? "-" : grade.getGrade()).append('\n');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Quotes a CSV field if it contains a separator, quote, or line break.
+     */
+    private static String csv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Splits a range of students in half until it is small enough to render directly.
+     */
+    private static class RenderTask extends RecursiveAction {
+        private final StudentManager studentManager;
+        private final List<Student> students;
+        private final int from;
+        private final int to;
+        private final int offset;
+        private final String[] out;
+        private final Format format;
+
+        RenderTask(StudentManager studentManager, List<Student> students, int from, int to, int offset,
+                   String[] out, Format format) {
+            this.studentManager = studentManager;
+            this.students = students;
+            this.from = from;
+            this.to = to;
+            this.offset = offset;
+            this.out = out;
+            this.format = format;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    out[i - offset] = render(studentManager, students.get(i), format);
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RenderTask(studentManager, students, from, mid, offset, out, format),
+                    new RenderTask(studentManager, students, mid, to, offset, out, format));
+        }
+    }
+
+    /**
+     * Summarizes a completed transcript batch.
+     */
+    public static class Report {
+        private final int transcripts;
+        private final long elapsedNanos;
+
+        /**
+         * Constructs a new Report.
+         *
+         * @param transcripts  the number of transcripts written
+         * @param elapsedNanos the wall-clock time of the batch in nanoseconds
+         */
+        public Report(int transcripts, long elapsedNanos) {
+            this.transcripts = transcripts;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        /**
+         * Returns the number of transcripts written.
+         *
+         * @return the number of transcripts
+         */
+        public int getTranscripts() {
+            return transcripts;
+        }
+
+        /**
+         * Returns the wall-clock time of the batch in nanoseconds.
+         *
+         * @return the elapsed time in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Returns the throughput of the batch.
+         *
+         * @return the number of transcripts written per second
+         */
+        public double getTranscriptsPerSecond() {
+            return elapsedNanos == 0 ? 0 : transcripts * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d transcripts in %.1f ms (%.0f transcripts/s)",
+                    transcripts, elapsedNanos / 1_000_000.0, getTranscriptsPerSecond());
+        }
+    }
+}